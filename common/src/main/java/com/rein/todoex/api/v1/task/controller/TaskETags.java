@@ -0,0 +1,42 @@
+package com.rein.todoex.api.v1.task.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Maps the version of a task to a strong ETag and back from an {@code If-Match} header, and the table-level
+ * change marker to the weak ETag of listings.
+ */
+public final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // weak: the listing is only guaranteed to be unchanged as a whole, not byte for byte across encodings
+    public static String ofListing(String changeMarker) {
+        return "W/\"" + changeMarker + "\"";
+    }
+
+    /**
+     * Returns the version required by {@code If-Match}, or {@code null} when any version is acceptable.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        // If-Match uses the strong comparison, a weak or malformed tag can never match
+        if (etag.length() < 3 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has been modified");
+        }
+        try {
+            return Long.valueOf(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has been modified");
+        }
+    }
+}
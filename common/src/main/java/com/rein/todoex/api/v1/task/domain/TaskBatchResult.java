@@ -0,0 +1,19 @@
+package com.rein.todoex.api.v1.task.domain;
+
+import java.util.UUID;
+
+public record TaskBatchResult(int index, UUID id, Status status, String message) {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    public static TaskBatchResult created(int index, UUID id) {
+        return new TaskBatchResult(index, id, Status.CREATED, null);
+    }
+
+    public static TaskBatchResult rejected(int index, String message) {
+        return new TaskBatchResult(index, null, Status.REJECTED, message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.rein.todoex.api.v1.task.domain;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Envelope of {@code GET /tasks}: the page attributes clients read from Spring's {@code Page}, without its
+ * {@code pageable} and {@code sort} blocks.
+ */
+public record TaskPage<T>(List<T> content, int number, int size, int numberOfElements, long totalElements,
+                          int totalPages) {
+
+    public static <T> TaskPage<T> of(Page<T> page) {
+        return new TaskPage<>(page.getContent(), page.getNumber(), page.getSize(), page.getNumberOfElements(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+
+    // for a page read without a Page, as R2DBC does
+    public static <T> TaskPage<T> of(List<T> content, int number, int size, long totalElements) {
+        int totalPages = size == 0 ? 1 : (int) Math.ceil((double) totalElements / size);
+        return new TaskPage<>(content, number, size, content.size(), totalElements, totalPages);
+    }
+}
@@ -0,0 +1,7 @@
+package com.rein.todoex.api.v1.task.domain;
+
+/**
+ * Partial update of a task; {@code null} fields are left unchanged.
+ */
+public record TaskPatch(String title, String description, Boolean isCompleted) {
+}
@@ -0,0 +1,57 @@
+package com.rein.todoex.api.v1.task.domain;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sort orders supported by {@code GET /tasks}. Every order ends with {@code id} as a tie breaker and is
+ * backed by one index per direction on the task table, because H2 cannot scan an index backwards.
+ */
+public enum TaskSort {
+
+    TITLE("title", List.of("title"), TaskSort.TITLE_INDEX, TaskSort.TITLE_DESC_INDEX),
+    IS_COMPLETED("isCompleted", List.of("isCompleted", "title"), TaskSort.COMPLETED_INDEX, TaskSort.COMPLETED_DESC_INDEX);
+
+    // the indexes, declared on the servlet application's Task entity and in V1__create_task.sql
+    public static final String TITLE_INDEX = "idx_task_title_id";
+    public static final String TITLE_DESC_INDEX = "idx_task_title_id_desc";
+    public static final String COMPLETED_INDEX = "idx_task_completed_title_id";
+    public static final String COMPLETED_DESC_INDEX = "idx_task_completed_title_id_desc";
+
+    private final String column;
+    private final List<String> properties;
+    private final String ascendingIndex;
+    private final String descendingIndex;
+
+    TaskSort(String column, List<String> properties, String ascendingIndex, String descendingIndex) {
+        this.column = column;
+        this.properties = properties;
+        this.ascendingIndex = ascendingIndex;
+        this.descendingIndex = descendingIndex;
+    }
+
+    public static Optional<TaskSort> fromColumn(String column) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.column.equals(column))
+                .findFirst();
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public List<String> getProperties() {
+        return properties;
+    }
+
+    public String getIndex(Sort.Direction direction) {
+        return direction.isAscending() ? ascendingIndex : descendingIndex;
+    }
+
+    public Sort toSort(Sort.Direction direction) {
+        return Sort.by(direction, properties.toArray(String[]::new)).and(Sort.by(direction, "id"));
+    }
+}
@@ -0,0 +1,32 @@
+package com.rein.todoex.api.v1.task.domain;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID version 7 (RFC 9562): a 48 bit Unix timestamp in milliseconds, a 12 bit counter and 62 random bits.
+ * Ids compare in creation order, within a millisecond too: the counter restarts at zero every millisecond and,
+ * should it overflow, borrows from the timestamp rather than going backwards.
+ */
+public final class UuidV7s {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // timestamp << 12 | counter of the last id, shared by every caller so ids are ordered across entities
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7s() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long timeAndCounter = LAST.updateAndGet(last -> Math.max(now, last + 1));
+        long timestamp = timeAndCounter >>> 12;
+        long counter = timeAndCounter & 0xFFFL;
+
+        long mostSignificantBits = (timestamp << 16) | 0x7000L | counter;
+        long leastSignificantBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
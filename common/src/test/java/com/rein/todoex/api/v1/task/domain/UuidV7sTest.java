@@ -0,0 +1,39 @@
+package com.rein.todoex.api.v1.task.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class UuidV7sTest {
+
+    @Test
+    void shouldGenerateVersion7WithTheCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7s.next();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version(), is(7));
+        assertThat(id.variant(), is(2));
+        // ids generated faster than 4096 per millisecond, as by the other test, borrow from the timestamp
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertThat(timestamp, greaterThanOrEqualTo(before));
+        assertThat(timestamp, lessThanOrEqualTo(after + 1000));
+    }
+
+    @Test
+    void shouldGenerateIncreasingIds() {
+        // the hex form compares like the unsigned 128 bit value, as the uuid column does
+        String previous = UuidV7s.next().toString();
+        for (int i = 0; i < 100_000; i++) {
+            String next = UuidV7s.next().toString();
+            assertThat(next.compareTo(previous), greaterThan(0));
+            previous = next;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.rein.todoex.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class TodoReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(TodoReactiveApplication.class, args);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.rein.todoex.reactive.api.v1.task.controller;
+
+import com.rein.todoex.api.v1.task.controller.TaskETags;
+import com.rein.todoex.api.v1.task.domain.TaskBatchResult;
+import com.rein.todoex.api.v1.task.domain.TaskPage;
+import com.rein.todoex.api.v1.task.domain.TaskPatch;
+import com.rein.todoex.api.v1.task.domain.TaskSort;
+import com.rein.todoex.reactive.api.v1.task.domain.Task;
+import com.rein.todoex.reactive.api.v1.task.service.TaskService;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping(value = "/tasks")
+public class TaskController {
+
+    private final TaskService taskService;
+
+    public TaskController(TaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    @PostMapping
+    public Mono<Task> addTask(@RequestBody Task task) {
+        return taskService.addTask(task);
+    }
+
+    @PostMapping(value = "/batch")
+    public Mono<List<TaskBatchResult>> addTasks(@RequestBody List<Task> tasks) {
+        return taskService.addTasks(tasks);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<TaskPage<Task>> getAllTasks(@RequestParam(value = "page", defaultValue = "0", required = false) int page,
+                                      @RequestParam(value = "size", defaultValue = "10", required = false) int size,
+                                      @RequestParam(value = "column", defaultValue = "title", required = false) String column,
+                                      @RequestParam(value = "direction", defaultValue = "ASC", required = false) Sort.Direction direction,
+                                      @RequestParam(value = "completed", required = false) Boolean completed,
+                                      @RequestParam(value = "q", required = false) String query) {
+        return taskService.getAllTasks(completed, query, sort(column, direction), page, size);
+    }
+
+    // the same listing as one JSON object per line, written as the rows arrive and only as fast as the client reads.
+    // Without size every matching task is streamed
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Task> streamTasks(@RequestParam(value = "page", defaultValue = "0", required = false) int page,
+                                  @RequestParam(value = "size", required = false) Integer size,
+                                  @RequestParam(value = "column", defaultValue = "title", required = false) String column,
+                                  @RequestParam(value = "direction", defaultValue = "ASC", required = false) Sort.Direction direction,
+                                  @RequestParam(value = "completed", required = false) Boolean completed,
+                                  @RequestParam(value = "q", required = false) String query) {
+        return taskService.streamTasks(completed, query, sort(column, direction), page, size);
+    }
+
+    // every task as newline delimited JSON in id order
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Task> exportTasks() {
+        return taskService.exportTasks();
+    }
+
+    // a matching If-None-Match is answered with 304 by WebFlux from the ETag of the response
+    @GetMapping(value = "/{id}")
+    public Mono<ResponseEntity<Task>> getTask(@PathVariable UUID id) {
+        return taskService.getTask(id)
+                .map(task -> ResponseEntity.ok().eTag(TaskETags.of(task.getVersion())).body(task));
+    }
+
+    @PutMapping(value = "/{id}")
+    public Mono<ResponseEntity<Task>> updateTask(@PathVariable UUID id, @RequestBody Task task,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.updateTask(id, task, TaskETags.expectedVersion(ifMatch))
+                .map(updated -> ResponseEntity.ok().eTag(TaskETags.of(updated.getVersion())).body(updated));
+    }
+
+    @PatchMapping(value = "/{id}")
+    public Mono<ResponseEntity<Task>> patchTask(@PathVariable UUID id, @RequestBody TaskPatch patch,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.patchTask(id, patch, TaskETags.expectedVersion(ifMatch))
+                .map(patched -> ResponseEntity.ok().eTag(TaskETags.of(patched.getVersion())).body(patched));
+    }
+
+    @DeleteMapping(value = "/{id}")
+    public Mono<Void> deleteTask(@PathVariable UUID id,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.deleteTask(id, TaskETags.expectedVersion(ifMatch));
+    }
+
+    private static Sort sort(String column, Sort.Direction direction) {
+        return TaskSort.fromColumn(column)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort column"))
+                .toSort(direction);
+    }
+}
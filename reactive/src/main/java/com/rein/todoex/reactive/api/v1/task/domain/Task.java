@@ -0,0 +1,43 @@
+package com.rein.todoex.reactive.api.v1.task.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Row of the {@code task} table created by {@code db/migration/V1__create_task.sql}, the same table and JSON shape
+ * as the servlet application's entity.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("task")
+public class Task {
+
+    // time ordered, assigned by the service before the insert, see UuidV7s
+    @Id
+    private UUID id;
+
+    private String title;
+
+    @Builder.Default
+    private String description = "";
+
+    @Builder.Default
+    private Boolean isCompleted = false;
+
+    // optimistic lock, exposed as the ETag of the task. A null version is what marks a task with an assigned id as new
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+}
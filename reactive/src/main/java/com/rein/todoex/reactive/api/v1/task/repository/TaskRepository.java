@@ -0,0 +1,34 @@
+package com.rein.todoex.reactive.api.v1.task.repository;
+
+import com.rein.todoex.reactive.api.v1.task.domain.Task;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface TaskRepository extends ReactiveCrudRepository<Task, UUID>, ReactiveSortingRepository<Task, UUID> {
+
+    // single statement writes returning the number of rows written. Zero means the task does not exist (or did not
+    // match the expected version when one is given)
+    @Modifying
+    @Query("UPDATE task SET title = :title, description = :description, is_completed = :isCompleted, "
+            + "version = version + 1 WHERE id = :id AND (CAST(:version AS BIGINT) IS NULL OR version = :version)")
+    Mono<Integer> updateTask(@Param("id") UUID id, @Param("version") Long version, @Param("title") String title,
+                             @Param("description") String description, @Param("isCompleted") Boolean isCompleted);
+
+    @Modifying
+    @Query("UPDATE task SET title = COALESCE(CAST(:title AS VARCHAR(255)), title), "
+            + "description = COALESCE(CAST(:description AS VARCHAR(255)), description), "
+            + "is_completed = COALESCE(CAST(:isCompleted AS BOOLEAN), is_completed), version = version + 1 "
+            + "WHERE id = :id AND (CAST(:version AS BIGINT) IS NULL OR version = :version)")
+    Mono<Integer> patchTask(@Param("id") UUID id, @Param("version") Long version, @Param("title") String title,
+                            @Param("description") String description, @Param("isCompleted") Boolean isCompleted);
+
+    @Modifying
+    @Query("DELETE FROM task WHERE id = :id AND (CAST(:version AS BIGINT) IS NULL OR version = :version)")
+    Mono<Integer> deleteTask(@Param("id") UUID id, @Param("version") Long version);
+}
@@ -0,0 +1,178 @@
+package com.rein.todoex.reactive.api.v1.task.service;
+
+import com.rein.todoex.api.v1.task.domain.TaskBatchResult;
+import com.rein.todoex.api.v1.task.domain.TaskPage;
+import com.rein.todoex.api.v1.task.domain.TaskPatch;
+import com.rein.todoex.api.v1.task.domain.UuidV7s;
+import com.rein.todoex.reactive.api.v1.task.domain.Task;
+import com.rein.todoex.reactive.api.v1.task.repository.TaskRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.dialect.Escaper;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * The task operations of the servlet application's {@code TaskServiceImpl} on R2DBC. Nothing blocks: every
+ * method returns a publisher and the statements run when it is subscribed to.
+ */
+@Service
+public class TaskService {
+
+    private static final String TITLE_REQUIRED = "Title should not be empty";
+    private static final String TASK_ID_REQUIRED = "Valid Task Id Required";
+
+    private final TaskRepository taskRepository;
+    private final R2dbcEntityTemplate template;
+
+    public TaskService(TaskRepository taskRepository, R2dbcEntityTemplate template) {
+        this.taskRepository = taskRepository;
+        this.template = template;
+    }
+
+    public Mono<Task> addTask(Task task) {
+        if (!hasTitle(task)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, TITLE_REQUIRED));
+        }
+        return taskRepository.save(asNew(task));
+    }
+
+    /**
+     * Creates all tasks with a valid title in a single transaction. Tasks with a blank title are rejected without
+     * aborting the rest of the batch.
+     */
+    @Transactional
+    public Mono<List<TaskBatchResult>> addTasks(List<Task> tasks) {
+        return Flux.range(0, tasks.size())
+                .concatMap(index -> hasTitle(tasks.get(index))
+                        ? taskRepository.save(asNew(tasks.get(index)))
+                                .map(saved -> TaskBatchResult.created(index, saved.getId()))
+                        : Mono.just(TaskBatchResult.rejected(index, TITLE_REQUIRED)))
+                .collectList();
+    }
+
+    public Mono<TaskPage<Task>> getAllTasks(Boolean completed, String query, Sort sort, int page, int size) {
+        Query filter = filter(completed, query);
+        Mono<List<Task>> content = template.select(Task.class)
+                .matching(filter.sort(sort).limit(size).offset((long) page * size))
+                .all()
+                .collectList();
+        return Mono.zip(content, template.count(filter, Task.class))
+                .map(result -> TaskPage.of(result.getT1(), page, size, result.getT2()));
+    }
+
+    /**
+     * Emits the matching tasks as they are read, so the caller's demand paces the query. {@code size} of
+     * {@code null} streams every match.
+     */
+    public Flux<Task> streamTasks(Boolean completed, String query, Sort sort, int page, Integer size) {
+        Query filter = filter(completed, query).sort(sort);
+        if (size != null) {
+            filter = filter.limit(size).offset((long) page * size);
+        }
+        return template.select(Task.class).matching(filter).all();
+    }
+
+    public Flux<Task> exportTasks() {
+        return taskRepository.findAll(Sort.by("id"));
+    }
+
+    public Mono<Task> getTask(UUID id) {
+        return taskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, TASK_ID_REQUIRED)));
+    }
+
+    /**
+     * Overwrites all fields with a single UPDATE; the task is not loaded first. When {@code expectedVersion} is
+     * given the update only applies to that version, otherwise the new version is read back.
+     */
+    @Transactional
+    public Mono<Task> updateTask(UUID id, Task task, Long expectedVersion) {
+        return taskRepository.updateTask(id, expectedVersion, task.getTitle(), task.getDescription(), task.getIsCompleted())
+                .flatMap(updated -> checkUpdated(id, updated, expectedVersion))
+                .then(expectedVersion == null
+                        ? Mono.defer(() -> getTask(id))
+                        : Mono.fromSupplier(() -> Task.builder()
+                                .id(id)
+                                .title(task.getTitle())
+                                .description(task.getDescription())
+                                .isCompleted(task.getIsCompleted())
+                                .version(expectedVersion + 1)
+                                .build()));
+    }
+
+    /**
+     * Updates only the non-null fields of the patch with a single UPDATE, then reads the task back.
+     */
+    @Transactional
+    public Mono<Task> patchTask(UUID id, TaskPatch patch, Long expectedVersion) {
+        if (patch.title() != null && !StringUtils.hasText(patch.title())) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, TITLE_REQUIRED));
+        }
+        return taskRepository.patchTask(id, expectedVersion, patch.title(), patch.description(), patch.isCompleted())
+                .flatMap(updated -> checkUpdated(id, updated, expectedVersion))
+                .then(Mono.defer(() -> getTask(id)));
+    }
+
+    @Transactional
+    public Mono<Void> deleteTask(UUID id, Long expectedVersion) {
+        return taskRepository.deleteTask(id, expectedVersion)
+                .flatMap(deleted -> checkUpdated(id, deleted, expectedVersion));
+    }
+
+    public Mono<Void> deleteAll() {
+        return taskRepository.deleteAll();
+    }
+
+    // only looks the task up when nothing was written, to tell a stale version from a missing task
+    private Mono<Void> checkUpdated(UUID id, int updated, Long expectedVersion) {
+        if (updated > 0) {
+            return Mono.empty();
+        }
+        Mono<Boolean> exists = expectedVersion != null ? taskRepository.existsById(id) : Mono.just(false);
+        return exists.flatMap(found -> Mono.error(found
+                ? new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has been modified")
+                : new ResponseStatusException(HttpStatus.BAD_REQUEST, TASK_ID_REQUIRED)));
+    }
+
+    // completed matches exactly, every word of q has to appear in the title or the description, ignoring case.
+    // A substring match like the servlet application with todoex.task.full-text-search=false: there is no H2
+    // full-text index here, so "roo" finds "Room" where the servlet application's default only matches whole words
+    private static Query filter(Boolean completed, String query) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (completed != null) {
+            criteria.add(Criteria.where("isCompleted").is(completed));
+        }
+        if (StringUtils.hasText(query)) {
+            for (String word : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+                String pattern = "%" + Escaper.DEFAULT.escape(word) + "%";
+                criteria.add(Criteria.where("title").like(pattern).ignoreCase(true)
+                        .or(Criteria.where("description").like(pattern).ignoreCase(true)));
+            }
+        }
+        return Query.query(Criteria.from(criteria));
+    }
+
+    private static boolean hasTitle(Task task) {
+        return task != null && StringUtils.hasText(task.getTitle());
+    }
+
+    // ids are assigned by the server; without a version Spring Data inserts the row even though the id is set
+    private static Task asNew(Task task) {
+        task.setId(UuidV7s.next());
+        task.setVersion(null);
+        return task;
+    }
+}
@@ -0,0 +1,345 @@
+package com.rein.todoex.reactive.api.v1.task.controller;
+
+import com.rein.todoex.api.v1.task.domain.TaskPage;
+import com.rein.todoex.reactive.api.v1.task.domain.Task;
+import com.rein.todoex.reactive.api.v1.task.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * The scenarios of the servlet application's {@code TaskControllerTest} that cover the shared /tasks contract,
+ * against the WebFlux stack.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class TaskControllerTest {
+
+    private static final ParameterizedTypeReference<TaskPage<Task>> TASK_PAGE = new ParameterizedTypeReference<>() {
+    };
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TaskService taskService;
+
+    @BeforeEach
+    void setup() {
+        taskService.deleteAll().block();
+    }
+
+    @Test
+    void testAddTask() {
+        // POST /tasks
+        String taskJson = "{\"title\":\"Task 1\", \"description\":\"First Task\", \"isCompleted\":true}";
+        Task task1 = post("/tasks", taskJson)
+                .expectStatus().isOk()
+                .expectBody(Task.class).returnResult().getResponseBody();
+        assertThat(task1.getTitle(), is("Task 1"));
+        assertThat(task1.getDescription(), is("First Task"));
+        assertThat(task1.getIsCompleted(), is(true));
+        UUID idTask1 = task1.getId();
+
+        post("/tasks", "{\"title\":\"Task 2\"}")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").exists()
+                .jsonPath("$.title").isEqualTo("Task 2")
+                .jsonPath("$.description").isEqualTo("")
+                .jsonPath("$.isCompleted").isEqualTo(false);
+        // the only open task comes first
+        UUID idTask2 = webTestClient.get().uri("/tasks?column=isCompleted").exchange()
+                .expectStatus().isOk()
+                .expectBody(TASK_PAGE).returnResult().getResponseBody()
+                .content().get(0).getId();
+
+        String completedTask = "{\"title\":\"Task 3\", \"description\":\"Take A Swim\", \"isCompleted\":true}";
+        UUID idTask3 = post("/tasks", completedTask)
+                .expectStatus().isOk()
+                .expectBody(Task.class).returnResult().getResponseBody().getId();
+
+        post("/tasks", "{\"title\":\"\"}")
+                .expectStatus().is4xxClientError();
+
+
+        // GET /tasks
+        webTestClient.get().uri("/tasks?size=2&page=0").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.numberOfElements").isEqualTo(2)
+                .jsonPath("$.totalElements").isEqualTo(3)
+                .jsonPath("$.size").isEqualTo(2)
+                .jsonPath("$.number").isEqualTo(0)
+                .jsonPath("$.content[0].title").isEqualTo("Task 1")
+                .jsonPath("$.content[1].title").isEqualTo("Task 2");
+
+        webTestClient.get().uri("/tasks?size=2&page=1").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.numberOfElements").isEqualTo(1)
+                .jsonPath("$.totalElements").isEqualTo(3)
+                .jsonPath("$.number").isEqualTo(1)
+                .jsonPath("$.content[0].title").isEqualTo("Task 3");
+
+        webTestClient.get().uri("/tasks?column=isCompleted&direction=DESC").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].title").isEqualTo("Task 3")
+                .jsonPath("$.content[1].title").isEqualTo("Task 1")
+                .jsonPath("$.content[2].title").isEqualTo("Task 2");
+
+        webTestClient.get().uri("/tasks?column=description").exchange()
+                .expectStatus().isBadRequest();
+
+
+        // GET /tasks/{id}
+        webTestClient.get().uri("/tasks/" + idTask1).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(idTask1.toString())
+                .jsonPath("$.title").isEqualTo("Task 1")
+                .jsonPath("$.description").isEqualTo("First Task")
+                .jsonPath("$.isCompleted").isEqualTo(true);
+
+        webTestClient.get().uri("/tasks/" + UUID.randomUUID()).exchange()
+                .expectStatus().isBadRequest();
+
+
+        // PUT /tasks/{id}
+        String updateTask = "{\"title\":\"Task 1\", \"description\":\"First Task is incomplete\", \"isCompleted\":false}";
+        webTestClient.put().uri("/tasks/" + idTask1).contentType(MediaType.APPLICATION_JSON).bodyValue(updateTask).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(idTask1.toString())
+                .jsonPath("$.description").isEqualTo("First Task is incomplete")
+                .jsonPath("$.isCompleted").isEqualTo(false);
+
+        webTestClient.put().uri("/tasks/" + UUID.randomUUID()).contentType(MediaType.APPLICATION_JSON).bodyValue(updateTask).exchange()
+                .expectStatus().isBadRequest();
+
+
+        // PATCH /tasks/{id}
+        patch("/tasks/" + idTask2, "{\"isCompleted\":true}", null)
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(idTask2.toString())
+                .jsonPath("$.title").isEqualTo("Task 2")
+                .jsonPath("$.description").isEqualTo("")
+                .jsonPath("$.isCompleted").isEqualTo(true);
+
+        patch("/tasks/" + idTask2, "{\"title\":\"\"}", null)
+                .expectStatus().isBadRequest();
+
+        patch("/tasks/" + UUID.randomUUID(), "{\"isCompleted\":true}", null)
+                .expectStatus().isBadRequest();
+
+
+        // DELETE /tasks/{id}
+        webTestClient.delete().uri("/tasks/" + idTask1).exchange().expectStatus().isOk();
+        webTestClient.delete().uri("/tasks/" + idTask2).exchange().expectStatus().isOk();
+        webTestClient.delete().uri("/tasks/" + idTask3).exchange().expectStatus().isOk();
+
+        webTestClient.delete().uri("/tasks/" + UUID.randomUUID()).exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testAddTasksBatch() {
+        String tasksJson = "[{\"title\":\"Task 1\"}, {\"title\":\"\"}, {\"title\":\"Task 3\", \"isCompleted\":true}]";
+        post("/tasks/batch", tasksJson)
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].status").isEqualTo("CREATED")
+                .jsonPath("$[0].id").exists()
+                .jsonPath("$[1].status").isEqualTo("REJECTED")
+                .jsonPath("$[1].message").isEqualTo("Title should not be empty")
+                .jsonPath("$[2].status").isEqualTo("CREATED");
+
+        webTestClient.get().uri("/tasks").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(2)
+                .jsonPath("$.content[1].title").isEqualTo("Task 3")
+                .jsonPath("$.content[1].isCompleted").isEqualTo(true);
+    }
+
+    @Test
+    void testFilterTasks() {
+        String tasksJson = "[{\"title\":\"Clean kitchen\", \"description\":\"Scrub the floor\"}, "
+                + "{\"title\":\"Buy milk\", \"description\":\"Kitchen supplies\", \"isCompleted\":true}, "
+                + "{\"title\":\"Walk dog\", \"isCompleted\":true}]";
+        post("/tasks/batch", tasksJson).expectStatus().isOk();
+
+        webTestClient.get().uri("/tasks?completed=true").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(2)
+                .jsonPath("$.content[0].title").isEqualTo("Buy milk")
+                .jsonPath("$.content[1].title").isEqualTo("Walk dog");
+
+        webTestClient.get().uri("/tasks?q=KITCHEN").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(2)
+                .jsonPath("$.content[0].title").isEqualTo("Buy milk")
+                .jsonPath("$.content[1].title").isEqualTo("Clean kitchen");
+
+        webTestClient.get().uri("/tasks?q=kitchen&completed=false&direction=DESC").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].title").isEqualTo("Clean kitchen");
+
+        webTestClient.get().uri("/tasks?q=scrub floor&size=1").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].title").isEqualTo("Clean kitchen");
+
+        webTestClient.get().uri("/tasks?q=garage").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(0);
+
+        // substrings match, unlike the full-text search of the servlet application
+        webTestClient.get().uri("/tasks?q=kitch").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(2);
+    }
+
+    @Test
+    void testConditionalRequests() {
+        post("/tasks", "{\"title\":\"Task 1\"}")
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.version").isEqualTo(0);
+        UUID id = webTestClient.get().uri("/tasks").exchange()
+                .expectStatus().isOk()
+                .expectBody(TASK_PAGE).returnResult().getResponseBody()
+                .content().get(0).getId();
+
+        // GET /tasks/{id} with If-None-Match
+        webTestClient.get().uri("/tasks/" + id).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"0\"");
+        webTestClient.get().uri("/tasks/" + id).header("If-None-Match", "\"0\"").exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        // PUT /tasks/{id} with If-Match
+        String updateTask = "{\"title\":\"Task 1\", \"isCompleted\":true}";
+        put("/tasks/" + id, updateTask, "\"0\"")
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"")
+                .expectBody().jsonPath("$.version").isEqualTo(1);
+        put("/tasks/" + id, updateTask, "\"0\"")
+                .expectStatus().isEqualTo(412);
+        put("/tasks/" + id, updateTask, null)
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"2\"");
+
+        webTestClient.get().uri("/tasks/" + id).header("If-None-Match", "\"0\"").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"2\"");
+
+        // PATCH and DELETE /tasks/{id} with If-Match
+        patch("/tasks/" + id, "{\"isCompleted\":false}", "\"1\"")
+                .expectStatus().isEqualTo(412);
+        webTestClient.delete().uri("/tasks/" + id).header("If-Match", "\"1\"").exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.delete().uri("/tasks/" + id).header("If-Match", "\"2\"").exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void testStreamTasks() {
+        String tasksJson = IntStream.range(0, 50)
+                .mapToObj(i -> "{\"title\":\"Task %02d\", \"isCompleted\":%b}".formatted(i, i % 2 == 0))
+                .collect(Collectors.joining(", ", "[", "]"));
+        post("/tasks/batch", tasksJson).expectStatus().isOk();
+
+        Flux<Task> tasks = webTestClient.get().uri("/tasks?completed=true")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(Task.class)
+                .getResponseBody();
+        StepVerifier.create(tasks)
+                .expectNextMatches(task -> task.getTitle().equals("Task 00"))
+                .expectNextMatches(task -> task.getTitle().equals("Task 02"))
+                .expectNextCount(23)
+                .verifyComplete();
+
+        // rows are only read as they are requested
+        StepVerifier.create(taskService.streamTasks(null, null, Sort.by("title"), 0, null), 0)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(2)
+                .expectNextMatches(task -> task.getTitle().equals("Task 00"))
+                .expectNextMatches(task -> task.getTitle().equals("Task 01"))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(48)
+                .expectNextCount(48)
+                .verifyComplete();
+    }
+
+    @Test
+    void testExportTasks() {
+        String tasksJson = "[{\"title\":\"Task 1\"}, {\"title\":\"Task 2\", \"isCompleted\":true}]";
+        post("/tasks/batch", tasksJson).expectStatus().isOk();
+
+        Set<String> titles = webTestClient.get().uri("/tasks/export").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(Task.class)
+                .getResponseBody()
+                .map(Task::getTitle)
+                .collect(Collectors.toSet())
+                .block();
+        assertThat(titles, is(Set.of("Task 1", "Task 2")));
+    }
+
+    private WebTestClient.ResponseSpec post(String uri, String json) {
+        return webTestClient.post().uri(uri).contentType(MediaType.APPLICATION_JSON).bodyValue(json).exchange();
+    }
+
+    private WebTestClient.ResponseSpec put(String uri, String json, String ifMatch) {
+        return webTestClient.put().uri(uri)
+                .headers(headers -> {
+                    if (ifMatch != null) {
+                        headers.setIfMatch(ifMatch);
+                    }
+                })
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(json).exchange();
+    }
+
+    private WebTestClient.ResponseSpec patch(String uri, String json, String ifMatch) {
+        return webTestClient.patch().uri(uri)
+                .headers(headers -> {
+                    if (ifMatch != null) {
+                        headers.setIfMatch(ifMatch);
+                    }
+                })
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(json).exchange();
+    }
+}
@@ -1,5 +1,5 @@
 #!/bin/bash
 
-rm -rf target/*
-mvn clean install -Dmaven.test.skip=true
+rm -rf servlet/target/*
+mvn clean install -Dmaven.test.skip=true -Pfast-start
 docker-compose up --build
\ No newline at end of file
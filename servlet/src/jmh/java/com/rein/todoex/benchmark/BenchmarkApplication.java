@@ -0,0 +1,51 @@
+package com.rein.todoex.benchmark;
+
+import com.rein.todoex.TodoApplication;
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskBatchResult;
+import com.rein.todoex.api.v1.task.service.TaskServiceImpl;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the application without a web server against the in-memory H2 of the {@code benchmark} profile.
+ */
+final class BenchmarkApplication {
+
+    private static final int SEED_CHUNK = 10_000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(TodoApplication.class)
+                .profiles("benchmark")
+                .run(args);
+    }
+
+    /**
+     * Inserts {@code rows} tasks titled in insertion order and returns their ids.
+     */
+    static List<UUID> seed(TaskServiceImpl taskService, int rows) {
+        List<UUID> ids = new ArrayList<>(rows);
+        for (int from = 0; from < rows; from += SEED_CHUNK) {
+            List<Task> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = from; i < Math.min(from + SEED_CHUNK, rows); i++) {
+                chunk.add(newTask(i));
+            }
+            taskService.addTasks(chunk).stream().map(TaskBatchResult::id).forEach(ids::add);
+        }
+        return ids;
+    }
+
+    static Task newTask(int i) {
+        return Task.builder()
+                .title(String.format("Task %08d", i))
+                .description("Benchmark task " + i)
+                .build();
+    }
+}
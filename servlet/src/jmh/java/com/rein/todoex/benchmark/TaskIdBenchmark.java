@@ -0,0 +1,101 @@
+package com.rein.todoex.benchmark;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.UuidV7s;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Batched inserts of {@code rowsPerOp} rows into a table of {@code tableSize} rows keyed by random (v4) or time
+ * ordered (v7) UUIDs. Rows are written with plain JDBC and the full-text index is disabled, so the difference
+ * comes from where the keys land in the primary key index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskIdBenchmark {
+
+    private static final String INSERT =
+            "INSERT INTO task (id, title, description, is_completed, version) VALUES (?, ?, ?, FALSE, 0)";
+    private static final int SEED_CHUNK = 10_000;
+
+    public enum Keys {
+        RANDOM(UUID::randomUUID),
+        TIME_ORDERED(UuidV7s::next);
+
+        private final Supplier<UUID> generator;
+
+        Keys(Supplier<UUID> generator) {
+            this.generator = generator;
+        }
+    }
+
+    @Param({"1000000", "5000000"})
+    private int tableSize;
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private Keys keys;
+
+    @Param({"1000"})
+    private int rowsPerOp;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start("--todoex.task.full-text-search=false");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int from = 0; from < tableSize; from += SEED_CHUNK) {
+            insert(from, Math.min(SEED_CHUNK, tableSize - from));
+        }
+    }
+
+    // titles are numbered in insertion order, drop what the previous iteration added on top of the seed
+    @Setup(Level.Iteration)
+    public void resetTable() {
+        jdbcTemplate.update("DELETE FROM task WHERE title >= ?", BenchmarkApplication.newTask(tableSize).getTitle());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int batchInsert() {
+        return insert(tableSize, rowsPerOp);
+    }
+
+    private int insert(int from, int rows) {
+        List<Object[]> batch = new ArrayList<>(rows);
+        for (int i = from; i < from + rows; i++) {
+            Task task = BenchmarkApplication.newTask(i);
+            batch.add(new Object[]{keys.generator.get(), task.getTitle(), task.getDescription()});
+        }
+        jdbcTemplate.batchUpdate(INSERT, batch);
+        return rows;
+    }
+}
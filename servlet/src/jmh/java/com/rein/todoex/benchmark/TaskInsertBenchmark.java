@@ -0,0 +1,87 @@
+package com.rein.todoex.benchmark;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.service.TaskServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating {@code tasksPerOp} tasks one {@code addTask} call at a time against a single
+ * {@code addTasks} call that goes through Hibernate JDBC batching, on top of a table that already holds
+ * {@code tableSize} rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskInsertBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int tableSize;
+
+    @Param({"1000"})
+    private int tasksPerOp;
+
+    private ConfigurableApplicationContext context;
+    private TaskServiceImpl taskService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        taskService = context.getBean(TaskServiceImpl.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkApplication.seed(taskService, tableSize);
+    }
+
+    // titles are numbered in insertion order, drop what the previous iteration added on top of the seed
+    @Setup(Level.Iteration)
+    public void resetTable() {
+        jdbcTemplate.update("DELETE FROM task WHERE title >= ?", BenchmarkApplication.newTask(tableSize).getTitle());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleInserts() {
+        for (Task task : newTasks()) {
+            taskService.addTask(task);
+        }
+        return tasksPerOp;
+    }
+
+    @Benchmark
+    public int batchInsert() {
+        return taskService.addTasks(newTasks()).size();
+    }
+
+    private List<Task> newTasks() {
+        List<Task> tasks = new ArrayList<>(tasksPerOp);
+        for (int i = 0; i < tasksPerOp; i++) {
+            tasks.add(BenchmarkApplication.newTask(tableSize + i));
+        }
+        return tasks;
+    }
+}
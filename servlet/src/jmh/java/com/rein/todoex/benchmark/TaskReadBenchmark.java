@@ -0,0 +1,114 @@
+package com.rein.todoex.benchmark;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskCursor;
+import com.rein.todoex.api.v1.task.domain.TaskField;
+import com.rein.todoex.api.v1.task.domain.TaskFilter;
+import com.rein.todoex.api.v1.task.domain.TaskSort;
+import com.rein.todoex.api.v1.task.domain.TaskView;
+import com.rein.todoex.api.v1.task.service.TaskServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point lookups, updates and shallow versus deep paging through {@link TaskServiceImpl} on a table of
+ * {@code tableSize} rows, calling the methods behind {@code GET /tasks} with and without a cursor. Point lookups
+ * pick random ids, so once the table outgrows the task cache most of them go to H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskReadBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final TaskFilter NO_FILTER = new TaskFilter(null, null);
+
+    @Param({"1000", "100000", "1000000"})
+    private int tableSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskServiceImpl taskService;
+    private List<UUID> ids;
+    private PageRequest shallowPage;
+    private PageRequest deepPage;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        taskService = context.getBean(TaskServiceImpl.class);
+        ids = BenchmarkApplication.seed(taskService, tableSize);
+
+        Sort sort = TaskSort.TITLE.toSort(Sort.Direction.ASC);
+        shallowPage = PageRequest.of(0, PAGE_SIZE, sort);
+        deepPage = PageRequest.of(tableSize / PAGE_SIZE - 1, PAGE_SIZE, sort);
+        // the cursor of the row just before the deep page, so both deep reads return the same rows
+        TaskView beforeDeepPage = taskService.getAllTasks(NO_FILTER, TaskField.ALL,
+                PageRequest.of((int) deepPage.getOffset() - 1, 1, sort)).getContent().get(0);
+        deepCursor = new TaskCursor(beforeDeepPage.title(), beforeDeepPage.id()).encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task getTask() {
+        return taskService.getTask(randomId());
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        Task task = BenchmarkApplication.newTask(ThreadLocalRandom.current().nextInt(tableSize));
+        return taskService.updateTask(randomId(), task, null);
+    }
+
+    @Benchmark
+    public Page<TaskView> shallowOffsetPage() {
+        return taskService.getAllTasks(NO_FILTER, TaskField.ALL, shallowPage);
+    }
+
+    @Benchmark
+    public Page<TaskView> deepOffsetPage() {
+        return taskService.getAllTasks(NO_FILTER, TaskField.ALL, deepPage);
+    }
+
+    @Benchmark
+    public Slice<Task> shallowKeysetPage() {
+        return taskService.getTasksAfter(null, PAGE_SIZE, Sort.Direction.ASC);
+    }
+
+    @Benchmark
+    public Slice<Task> deepKeysetPage() {
+        return taskService.getTasksAfter(deepCursor, PAGE_SIZE, Sort.Direction.ASC);
+    }
+
+    private UUID randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.rein.todoex.benchmark;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskField;
+import com.rein.todoex.api.v1.task.domain.TaskFilter;
+import com.rein.todoex.api.v1.task.domain.TaskSort;
+import com.rein.todoex.api.v1.task.domain.TaskView;
+import com.rein.todoex.api.v1.task.repository.TaskRepository;
+import com.rein.todoex.api.v1.task.repository.TaskSpecifications;
+import com.rein.todoex.api.v1.task.service.TaskServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of {@code GET /tasks} filtered by completion and by text, on a table of {@code tableSize} rows of
+ * which a fixed {@value #MATCHES} match. The indexed filters should cost the same at every table size; the
+ * substring scan used when the full-text index is disabled is the linear baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int MATCHES = 100;
+    private static final String WORD = "needle";
+
+    @Param({"10000", "100000", "1000000"})
+    private int tableSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskServiceImpl taskService;
+    private TaskRepository taskRepository;
+    private PageRequest firstPage;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        taskService = context.getBean(TaskServiceImpl.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        BenchmarkApplication.seed(taskService, tableSize);
+
+        List<Task> matches = new ArrayList<>(MATCHES);
+        for (int i = 0; i < MATCHES; i++) {
+            matches.add(Task.builder()
+                    .title(String.format("Find %s %03d", WORD, i))
+                    .description("Matches the search benchmark")
+                    .isCompleted(true)
+                    .build());
+        }
+        taskService.addTasks(matches);
+        firstPage = PageRequest.of(0, PAGE_SIZE, TaskSort.TITLE.toSort(Sort.Direction.ASC));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TaskView> completedFilter() {
+        return taskService.getAllTasks(new TaskFilter(true, null), TaskField.ALL, firstPage);
+    }
+
+    @Benchmark
+    public Page<TaskView> fullTextSearch() {
+        return taskService.getAllTasks(new TaskFilter(null, WORD), TaskField.ALL, firstPage);
+    }
+
+    @Benchmark
+    public Page<TaskView> substringScan() {
+        return taskRepository.findViews(TaskSpecifications.containsText(WORD), TaskField.ALL, firstPage);
+    }
+}
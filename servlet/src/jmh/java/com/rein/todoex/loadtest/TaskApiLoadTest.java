@@ -0,0 +1,204 @@
+package com.rein.todoex.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rein.todoex.TodoApplication;
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskBatchResult;
+import com.rein.todoex.api.v1.task.service.TaskServiceImpl;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Closed-loop HTTP load test against the real API. For every mode given on the command line (a comma separated
+ * list of extra Spring profiles, {@code default} for none) the application is started on a random port and
+ * {@code loadtest.concurrency} clients send a 90/10 mix of {@code GET /tasks} pages and {@code PATCH /tasks/{id}}
+ * for {@code loadtest.seconds}. Requests per second and latency percentiles are printed per mode. The benchmark
+ * profile runs on an in-memory database, {@code -Dloadtest.database=file} gives every mode a fresh H2 file under
+ * {@code target/loadtest} instead, so profiles that tune persistence can be compared. A mode that is a URL, such as
+ * {@code http://localhost:8081} for the reactive application in the {@code reactive} module, targets a server that is
+ * already running and seeds it through {@code POST /tasks/batch}.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@loadtest -Dloadtest.modes="default virtual-threads http://localhost:8081"
+ * </pre>
+ */
+public class TaskApiLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 500);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.seconds", 20));
+    private static final int TASKS = Integer.getInteger("loadtest.tasks", 10_000);
+    private static final int PAGE_SIZE = 20;
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final boolean FILE_DATABASE = "file".equals(System.getProperty("loadtest.database", "mem"));
+
+    public static void main(String[] args) throws Exception {
+        String[] modes = args.length == 0 ? new String[]{"default", "virtual-threads"} : args;
+        List<Result> results = new ArrayList<>();
+        for (String mode : modes) {
+            results.add(run(mode));
+        }
+
+        System.out.printf("%nconcurrency=%d, duration=%ss, tasks=%d, database=%s%n", CONCURRENCY, DURATION.toSeconds(), TASKS,
+                FILE_DATABASE ? "file" : "mem");
+        System.out.printf("%-32s %10s %10s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result result : results) {
+            System.out.printf("%-32s %10.0f %10.2f %10.2f %10.2f %8d%n", result.mode(), result.throughput(),
+                    result.percentile(0.50), result.percentile(0.99), result.percentile(1.0), result.errors());
+        }
+    }
+
+    private static Result run(String mode) throws Exception {
+        if (mode.startsWith("http://") || mode.startsWith("https://")) {
+            String baseUrl = mode.replaceAll("/+$", "") + "/tasks";
+            return load(mode, baseUrl, seed(baseUrl));
+        }
+        String[] profiles = Stream.concat(Stream.of("benchmark"),
+                        Arrays.stream(mode.split(",")).filter(profile -> !profile.isBlank() && !profile.equals("default")))
+                .toArray(String[]::new);
+        List<String> args = new ArrayList<>(List.of("--spring.main.web-application-type=servlet", "--server.port=0"));
+        if (FILE_DATABASE) {
+            Path directory = Path.of("target", "loadtest", mode.replace(',', '-'));
+            FileSystemUtils.deleteRecursively(directory);
+            args.add("--spring.datasource.url=jdbc:h2:file:" + directory.toAbsolutePath().resolve("todoex"));
+        }
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoApplication.class)
+                .profiles(profiles)
+                .run(args.toArray(String[]::new))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<UUID> ids = seed(context.getBean(TaskServiceImpl.class));
+            return load(mode, "http://localhost:" + port + "/tasks", ids);
+        }
+    }
+
+    private static List<UUID> seed(TaskServiceImpl taskService) {
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(Task.builder().title("Task " + i).description("Load test task " + i).build());
+        }
+        return taskService.addTasks(tasks).stream().map(TaskBatchResult::id).toList();
+    }
+
+    // the running server assigns the ids, they are read from the batch results
+    private static List<UUID> seed(String baseUrl) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        HttpClient client = HttpClient.newHttpClient();
+        List<UUID> ids = new ArrayList<>(TASKS);
+        for (int from = 0; from < TASKS; from += SEED_BATCH_SIZE) {
+            List<Task> tasks = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = from; i < Math.min(TASKS, from + SEED_BATCH_SIZE); i++) {
+                tasks.add(Task.builder().title("Task " + i).description("Load test task " + i).build());
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(tasks)))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding " + baseUrl + " failed with " + response.statusCode());
+            }
+            for (TaskBatchResult result : mapper.readValue(response.body(), TaskBatchResult[].class)) {
+                ids.add(result.id());
+            }
+        }
+        return ids;
+    }
+
+    private static Result load(String mode, String baseUrl, List<UUID> ids) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + WARMUP.toNanos();
+        long deadline = measureFrom + DURATION.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();
+        List<Thread> clients = new ArrayList<>();
+
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(httpExecutor)
+                    .build();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                clients.add(Thread.ofVirtual().start(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long now;
+                    while ((now = System.nanoTime()) < deadline) {
+                        HttpRequest request = random.nextInt(10) == 0
+                                ? HttpRequest.newBuilder(URI.create(baseUrl + "/" + ids.get(random.nextInt(ids.size()))))
+                                        .header("Content-Type", "application/json")
+                                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"isCompleted\":" + random.nextBoolean() + "}"))
+                                        .build()
+                                : HttpRequest.newBuilder(URI.create(baseUrl + "?size=" + PAGE_SIZE + "&page=" + random.nextInt(TASKS / PAGE_SIZE)))
+                                        .build();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (now >= measureFrom) {
+                            recorder.record(System.nanoTime() - now);
+                        }
+                    }
+                    synchronized (latencies) {
+                        latencies.add(recorder.toArray());
+                    }
+                }));
+            }
+            for (Thread thread : clients) {
+                thread.join();
+            }
+        }
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(mode, all, all.length / (double) DURATION.toSeconds(), errors.get());
+    }
+
+    private static final class LatencyRecorder {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void record(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private record Result(String mode, long[] sortedLatencies, double throughput, long errors) {
+
+        double percentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
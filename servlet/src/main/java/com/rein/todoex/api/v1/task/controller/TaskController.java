@@ -0,0 +1,228 @@
+package com.rein.todoex.api.v1.task.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskBatchResult;
+import com.rein.todoex.api.v1.task.domain.TaskCursorPage;
+import com.rein.todoex.api.v1.task.domain.TaskField;
+import com.rein.todoex.api.v1.task.domain.TaskFilter;
+import com.rein.todoex.api.v1.task.domain.TaskImportReport;
+import com.rein.todoex.api.v1.task.domain.TaskPage;
+import com.rein.todoex.api.v1.task.domain.TaskPatch;
+import com.rein.todoex.api.v1.task.domain.TaskSort;
+import com.rein.todoex.api.v1.task.domain.TaskStats;
+import com.rein.todoex.api.v1.task.domain.TaskView;
+import com.rein.todoex.api.v1.task.service.TaskChangeFeed;
+import com.rein.todoex.api.v1.task.service.TaskChangeMarker;
+import com.rein.todoex.api.v1.task.service.TaskIdempotencyService;
+import com.rein.todoex.api.v1.task.service.TaskImportService;
+import com.rein.todoex.api.v1.task.service.TaskServiceImpl;
+import com.rein.todoex.api.v1.task.service.TaskStatistics;
+import com.rein.todoex.api.v1.task.service.TaskWriteBehindService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@RestController
+@RequestMapping(value = "/tasks")
+public class TaskController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final TaskServiceImpl taskService;
+    private final TaskImportService taskImportService;
+    private final ObjectMapper objectMapper;
+    private final TaskChangeMarker changeMarker;
+    private final TaskWriteBehindService taskWriteBehindService;
+    private final TaskChangeFeed changeFeed;
+    private final TaskStatistics taskStatistics;
+    private final TaskIdempotencyService taskIdempotencyService;
+
+    public TaskController(TaskServiceImpl taskServiceImpl, TaskImportService taskImportService, ObjectMapper objectMapper,
+                          TaskChangeMarker changeMarker, TaskWriteBehindService taskWriteBehindService,
+                          TaskChangeFeed changeFeed, TaskStatistics taskStatistics,
+                          TaskIdempotencyService taskIdempotencyService) {
+        this.taskService = taskServiceImpl;
+        this.taskImportService = taskImportService;
+        this.objectMapper = objectMapper;
+        this.changeMarker = changeMarker;
+        this.taskWriteBehindService = taskWriteBehindService;
+        this.changeFeed = changeFeed;
+        this.taskStatistics = taskStatistics;
+        this.taskIdempotencyService = taskIdempotencyService;
+    }
+
+    // async=true answers 202 with the id once the task is queued, it is written shortly after (see TaskWriteBehindService).
+    // A retry with the Idempotency-Key of a request that already created its task gets that task back, nothing is
+    // inserted again (see TaskIdempotencyService)
+    @PostMapping
+    public ResponseEntity<Task> addTask(@RequestBody Task task,
+                                        @RequestParam(value = "async", defaultValue = "false", required = false) boolean async,
+                                        @RequestHeader(value = TaskIdempotencyService.HEADER, required = false) String idempotencyKey) {
+        if (async) {
+            if (idempotencyKey != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key is not supported with async=true");
+            }
+            Task accepted = taskWriteBehindService.enqueue(task);
+            return ResponseEntity.accepted().location(URI.create("/tasks/" + accepted.getId())).body(accepted);
+        }
+        return ResponseEntity.ok(taskIdempotencyService.addTask(task, idempotencyKey));
+    }
+
+    @PostMapping(value = "/batch")
+    public List<TaskBatchResult> addTasks(@RequestBody List<Task> tasks,
+                                          @RequestHeader(value = TaskIdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return taskIdempotencyService.addTasks(tasks, idempotencyKey);
+    }
+
+    // the body is read as a stream, never buffered as a whole
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public TaskImportReport importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                        InputStream body) throws IOException {
+        TaskImportService.Format format = NDJSON.isCompatibleWith(contentType)
+                ? TaskImportService.Format.NDJSON
+                : TaskImportService.Format.CSV;
+        return taskImportService.importTasks(body, format);
+    }
+
+    // rows are projected to the requested fields, e.g. fields=id,title,isCompleted, the entity is never loaded.
+    // The ETag is the table change marker, read before the query: a matching If-None-Match gets a 304 without
+    // touching the database. There is none while listings are read from a replica (see TaskChangeMarker)
+    @GetMapping
+    public ResponseEntity<MappingJacksonValue> getAllTasks(@RequestParam(value = "page", defaultValue = "0", required = false) int page,
+                                                @RequestParam(value = "size", defaultValue = "10", required = false) int size,
+                                                @RequestParam(value = "column", defaultValue = "title", required = false) String column,
+                                                @RequestParam(value = "direction", defaultValue = "ASC", required = false) Sort.Direction direction,
+                                                @RequestParam(value = "completed", required = false) Boolean completed,
+                                                @RequestParam(value = "q", required = false) String query,
+                                                @RequestParam(value = "fields", required = false) String fields,
+                                                WebRequest request) {
+        TaskSort sort = TaskSort.fromColumn(column)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort column"));
+        PageRequest pageRequest = PageRequest.of(page, size, sort.toSort(direction));
+        Set<TaskField> selectedFields = parseFields(fields);
+        String eTag = listingETag();
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
+        TaskPage<TaskView> tasks = TaskPage.of(taskService.getAllTasks(new TaskFilter(completed, query), selectedFields, pageRequest));
+        MappingJacksonValue body = new MappingJacksonValue(tasks);
+        body.setFilters(TaskView.filterFor(selectedFields));
+        return listing(eTag).body(body);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<TaskCursorPage> getTasksAfter(@RequestParam(value = "cursor") String cursor,
+                                                        @RequestParam(value = "size", defaultValue = "10", required = false) int size,
+                                                        @RequestParam(value = "direction", defaultValue = "ASC", required = false) Sort.Direction direction,
+                                                        WebRequest request) {
+        String eTag = listingETag();
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
+        TaskCursorPage tasks = TaskCursorPage.of(taskService.getTasksAfter(cursor, size, direction));
+        return listing(eTag).body(tasks);
+    }
+
+    // one JSON task per line, written while the rows are read so memory does not depend on the table size
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        ObjectWriter writer = objectMapper.writerFor(Task.class);
+        StreamingResponseBody body = out -> taskService.exportTasks(task -> {
+            try {
+                out.write(writer.writeValueAsBytes(task));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    // counted in memory, never queries the database (see TaskStatistics)
+    @GetMapping(value = "/stats")
+    public TaskStats getStats() {
+        return taskStatistics.current();
+    }
+
+    // created/updated/deleted events as they commit, instead of polling GET /tasks. EventSource clients resume with
+    // Last-Event-ID on reconnect, other clients can pass the last id they saw as ?since=
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                 @RequestParam(value = "since", required = false) String since) {
+        return changeFeed.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
+    // a matching If-None-Match is answered with 304 by Spring without serializing the task
+    @GetMapping(value = "/{id}")
+    public ResponseEntity<Task> getTask(@PathVariable UUID id) {
+        Task task = taskService.getTask(id);
+        return ResponseEntity.ok().eTag(TaskETags.of(task.getVersion())).body(task);
+    }
+
+    @PutMapping(value = "/{id}")
+    public ResponseEntity<Task> updateTask(@PathVariable UUID id, @RequestBody Task task,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task updated = taskService.updateTask(id, task, TaskETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(TaskETags.of(updated.getVersion())).body(updated);
+    }
+
+    @PatchMapping(value = "/{id}")
+    public ResponseEntity<Task> patchTask(@PathVariable UUID id, @RequestBody TaskPatch patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task patched = taskService.patchTask(id, patch, TaskETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(TaskETags.of(patched.getVersion())).body(patched);
+    }
+
+    @DeleteMapping( value = "/{id}")
+    public void deleteTask(@PathVariable UUID id,
+                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.deleteTask(id, TaskETags.expectedVersion(ifMatch));
+    }
+
+    private String listingETag() {
+        return changeMarker.coversListings() ? TaskETags.ofListing(changeMarker.current()) : null;
+    }
+
+    private static ResponseEntity.BodyBuilder listing(String eTag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        return eTag == null ? response : response.eTag(eTag);
+    }
+
+    private static Set<TaskField> parseFields(String fields) {
+        try {
+            return TaskField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported field");
+        }
+    }
+}
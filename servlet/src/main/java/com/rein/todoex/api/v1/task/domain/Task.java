@@ -0,0 +1,54 @@
+package com.rein.todoex.api.v1.task.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.UUID;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = {
+        // backing the orders in TaskSort
+        @Index(name = TaskSort.TITLE_INDEX, columnList = "title, id"),
+        @Index(name = TaskSort.TITLE_DESC_INDEX, columnList = "title DESC, id DESC"),
+        @Index(name = TaskSort.COMPLETED_INDEX, columnList = "isCompleted, title, id"),
+        @Index(name = TaskSort.COMPLETED_DESC_INDEX, columnList = "isCompleted DESC, title DESC, id DESC")
+})
+public class Task {
+
+    // time ordered, see UuidV7Generator
+    @Id
+    @UuidV7
+    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "uuid")
+    private UUID id;
+
+    private String title ;
+
+    @Builder.Default
+    private String description = "";
+
+    @Builder.Default
+    private Boolean isCompleted = false;
+
+    // optimistic lock, exposed as the ETag of the task
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+}
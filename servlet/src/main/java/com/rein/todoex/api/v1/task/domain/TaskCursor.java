@@ -0,0 +1,38 @@
+package com.rein.todoex.api.v1.task.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last task of a keyset page, serialized as an opaque URL-safe token.
+ * The token is the Base64 of {@code <id>:<title>}; the id has a fixed length so the title may contain anything.
+ * A task without a title has no position: {@code (title, id) > (:title, :id)} never matches a {@code NULL} title.
+ */
+public record TaskCursor(String title, UUID id) {
+
+    private static final int UUID_LENGTH = 36;
+
+    public TaskCursor {
+        if (title == null || id == null) {
+            throw new IllegalArgumentException("A cursor needs a title and an id");
+        }
+    }
+
+    public static TaskCursor of(Task task) {
+        return new TaskCursor(task.getTitle(), task.getId());
+    }
+
+    public static TaskCursor decode(String token) {
+        String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        if (value.length() <= UUID_LENGTH || value.charAt(UUID_LENGTH) != ':') {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new TaskCursor(value.substring(UUID_LENGTH + 1), UUID.fromString(value.substring(0, UUID_LENGTH)));
+    }
+
+    public String encode() {
+        String value = id + ":" + title;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,14 @@
+package com.rein.todoex.api.v1.task.domain;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public record TaskCursorPage(List<Task> content, int size, boolean hasNext, String nextCursor) {
+
+    public static TaskCursorPage of(Slice<Task> slice) {
+        List<Task> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? TaskCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new TaskCursorPage(content, slice.getSize(), slice.hasNext(), nextCursor);
+    }
+}
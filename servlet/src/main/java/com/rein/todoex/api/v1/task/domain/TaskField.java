@@ -0,0 +1,58 @@
+package com.rein.todoex.api.v1.task.domain;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Fields of a {@link TaskView} that can be requested with {@code GET /tasks?fields=}. Only the requested fields
+ * are selected from the database.
+ */
+public enum TaskField {
+
+    ID("id", UUID.class),
+    TITLE("title", String.class),
+    DESCRIPTION("description", String.class),
+    IS_COMPLETED("isCompleted", Boolean.class),
+    VERSION("version", Long.class);
+
+    public static final Set<TaskField> ALL = Collections.unmodifiableSet(EnumSet.allOf(TaskField.class));
+
+    private final String property;
+    private final Class<?> type;
+
+    TaskField(String property, Class<?> type) {
+        this.property = property;
+        this.type = type;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Parses a comma separated list of property names; {@code null} or blank selects every field.
+     *
+     * @throws IllegalArgumentException when a name is not a field of {@link TaskView}
+     */
+    public static Set<TaskField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<TaskField> parsed = EnumSet.noneOf(TaskField.class);
+        for (String name : fields.split(",")) {
+            String property = name.strip();
+            parsed.add(Arrays.stream(values())
+                    .filter(field -> field.property.equals(property))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported field " + property)));
+        }
+        return Collections.unmodifiableSet(parsed);
+    }
+}
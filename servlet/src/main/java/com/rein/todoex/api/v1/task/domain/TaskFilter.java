@@ -0,0 +1,12 @@
+package com.rein.todoex.api.v1.task.domain;
+
+/**
+ * Optional filters of {@code GET /tasks}; {@code null} means "any". {@code query} is matched against the title
+ * and the description.
+ */
+public record TaskFilter(Boolean completed, String query) {
+
+    public boolean hasQuery() {
+        return query != null && !query.isBlank();
+    }
+}
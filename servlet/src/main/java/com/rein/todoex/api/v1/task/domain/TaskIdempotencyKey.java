@@ -0,0 +1,52 @@
+package com.rein.todoex.api.v1.task.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A task created by a request carrying an {@code Idempotency-Key}: one row per created task, {@code item} being
+ * its index in the request body (always 0 for {@code POST /tasks}), with the fingerprint of that request. Written in the transaction that inserts the
+ * task, so a key is never recorded for a task that was rolled back.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "task_idempotency_key",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_idempotency_key_item", columnNames = {"idempotency_key", "item"}),
+        indexes = @Index(name = "idx_task_idempotency_key_created_at", columnList = "createdAt"))
+public class TaskIdempotencyKey {
+
+    @Id
+    @Column(name = "task_id", updatable = false, nullable = false, columnDefinition = "uuid")
+    private UUID taskId;
+
+    @Column(name = "idempotency_key", updatable = false, nullable = false)
+    private String idempotencyKey;
+
+    @Column(updatable = false, nullable = false)
+    private int item;
+
+    // SHA-256 of the endpoint and body of the request that created the task, a retry must send the same request.
+    // Null for keys recorded before fingerprints were, those are replayed without the check
+    @Column(updatable = false, length = 64)
+    private String requestFingerprint;
+
+    // rows older than todoex.task.idempotency-key-retention are purged
+    @Column(updatable = false, nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,13 @@
+package com.rein.todoex.api.v1.task.domain;
+
+import java.util.List;
+
+/**
+ * Outcome of a streaming import. Only the first rejected lines are listed, the counters cover the whole input.
+ */
+public record TaskImportReport(long linesRead, long imported, long rejected, int chunksCommitted, int chunksFailed,
+                               List<RejectedLine> rejectedLines) {
+
+    public record RejectedLine(long line, String message) {
+    }
+}
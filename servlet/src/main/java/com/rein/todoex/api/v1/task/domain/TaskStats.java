@@ -0,0 +1,11 @@
+package com.rein.todoex.api.v1.task.domain;
+
+/**
+ * Task counts returned by {@code GET /tasks/stats}; {@code open} is every task that is not completed.
+ */
+public record TaskStats(long total, long completed, long open) {
+
+    public TaskStats(long total, long completed) {
+        this(total, completed, total - completed);
+    }
+}
@@ -0,0 +1,29 @@
+package com.rein.todoex.api.v1.task.domain;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only row of a task listing, built by a constructor projection instead of loading the entity. Fields that
+ * were not requested are {@code null}; they are left out of the JSON by the {@link #filterFor} filter, which keeps a
+ * requested field even when its value is {@code null}.
+ */
+@JsonFilter(TaskView.FILTER)
+public record TaskView(UUID id, String title, String description, Boolean isCompleted, Long version) {
+
+    public static final String FILTER = "taskViewFields";
+
+    /**
+     * Filter that writes only the given fields, every TaskView must be serialized with one.
+     */
+    public static FilterProvider filterFor(Set<TaskField> fields) {
+        Set<String> properties = fields.stream().map(TaskField::getProperty).collect(Collectors.toSet());
+        return new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(properties));
+    }
+}
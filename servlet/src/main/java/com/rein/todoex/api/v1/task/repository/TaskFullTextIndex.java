@@ -0,0 +1,44 @@
+package com.rein.todoex.api.v1.task.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the H2 native full-text index over the title and description of tasks. H2 keeps it up to date with a
+ * trigger on the task table, so it is only (re)built when that trigger is missing: on a new database, or after
+ * Hibernate recreated the table.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+// nothing injects it, so it would never be created with spring.main.lazy-initialization
+@Lazy(false)
+@ConditionalOnProperty(name = "todoex.task.full-text-search", havingValue = "true", matchIfMissing = true)
+public class TaskFullTextIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskFullTextIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void createIfMissing() {
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS FT_INIT FOR 'org.h2.fulltext.FullText.init'");
+        jdbcTemplate.execute("CALL FT_INIT()");
+        Integer triggers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TRIGGERS "
+                + "WHERE TRIGGER_SCHEMA = 'PUBLIC' AND TRIGGER_NAME = 'FT_TASK'", Integer.class);
+        if (triggers != null && triggers > 0) {
+            return;
+        }
+        log.info("Building the full-text index of the task table");
+        // drops what is left of an index whose table was recreated, a no-op otherwise
+        jdbcTemplate.execute("CALL FT_DROP_INDEX('PUBLIC', 'TASK')");
+        jdbcTemplate.execute("CALL FT_CREATE_INDEX('PUBLIC', 'TASK', 'TITLE,DESCRIPTION')");
+    }
+}
@@ -0,0 +1,29 @@
+package com.rein.todoex.api.v1.task.repository;
+
+import com.rein.todoex.api.v1.task.domain.TaskIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskIdempotencyKeyRepository extends JpaRepository<TaskIdempotencyKey, UUID> {
+
+    // served by the unique index on (idempotency_key, item)
+    List<TaskIdempotencyKey> findByIdempotencyKey(String idempotencyKey);
+
+    // read-write, so it reads from the primary when a replica is configured: after a unique key violation the rows
+    // of the request that won are committed there, but may not have reached the replica yet
+    @Transactional
+    @Query("SELECT k FROM TaskIdempotencyKey k WHERE k.idempotencyKey = :idempotencyKey")
+    List<TaskIdempotencyKey> findOnPrimaryByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskIdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,79 @@
+package com.rein.todoex.api.v1.task.repository;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificationExecutor<Task>, TaskViewRepository {
+
+    // keyset pagination: the limit comes from the Pageable, a Slice never issues a count query
+
+    Slice<Task> findAllByOrderByTitleAscIdAsc(Pageable page);
+
+    Slice<Task> findAllByOrderByTitleDescIdDesc(Pageable page);
+
+    @Query("SELECT t FROM Task t WHERE (t.title, t.id) > (:title, :id) ORDER BY t.title ASC, t.id ASC")
+    Slice<Task> findByTitleAndIdAfter(@Param("title") String title, @Param("id") UUID id, Pageable page);
+
+    @Query("SELECT t FROM Task t WHERE (t.title, t.id) < (:title, :id) ORDER BY t.title DESC, t.id DESC")
+    Slice<Task> findByTitleAndIdBefore(@Param("title") String title, @Param("id") UUID id, Pageable page);
+
+    // read-write, so it reads from the primary when a replica is configured, for a task that may just have been
+    // created by another request
+    @Transactional
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findOnPrimaryById(@Param("id") UUID id);
+
+    // forward-only read of the whole table for exports, must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t ORDER BY t.id")
+    Stream<Task> streamAll();
+
+    // single statement writes, the affected row count tells whether the task exists (and matched the
+    // expected version when one is given). A non-null wasCompleted also requires the current isCompleted, NULL
+    // counting as false, so the caller learns the value it replaced without reading or locking the row
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.title = :title, t.description = :description, t.isCompleted = :isCompleted, "
+            + "t.version = t.version + 1 WHERE t.id = :id AND (:version IS NULL OR t.version = :version) "
+            + "AND (:wasCompleted IS NULL OR COALESCE(t.isCompleted, false) = :wasCompleted)")
+    int updateTask(@Param("id") UUID id, @Param("version") Long version, @Param("title") String title,
+                   @Param("description") String description, @Param("isCompleted") Boolean isCompleted,
+                   @Param("wasCompleted") Boolean wasCompleted);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.title = COALESCE(:title, t.title), t.description = COALESCE(:description, t.description), "
+            + "t.isCompleted = COALESCE(:isCompleted, t.isCompleted), t.version = t.version + 1 "
+            + "WHERE t.id = :id AND (:version IS NULL OR t.version = :version) "
+            + "AND (:wasCompleted IS NULL OR COALESCE(t.isCompleted, false) = :wasCompleted)")
+    int patchTask(@Param("id") UUID id, @Param("version") Long version, @Param("title") String title,
+                  @Param("description") String description, @Param("isCompleted") Boolean isCompleted,
+                  @Param("wasCompleted") Boolean wasCompleted);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id = :id AND (:version IS NULL OR t.version = :version) "
+            + "AND (:wasCompleted IS NULL OR COALESCE(t.isCompleted, false) = :wasCompleted)")
+    int deleteTask(@Param("id") UUID id, @Param("version") Long version, @Param("wasCompleted") Boolean wasCompleted);
+
+    // total and completed in one consistent read, for seeding and reconciling TaskStatistics
+    @Query("SELECT new com.rein.todoex.api.v1.task.domain.TaskStats(COUNT(t), "
+            + "COUNT(CASE WHEN t.isCompleted = true THEN 1 END)) FROM Task t")
+    TaskStats countStats();
+}
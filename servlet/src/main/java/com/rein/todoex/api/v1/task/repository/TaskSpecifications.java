@@ -0,0 +1,41 @@
+package com.rein.todoex.api.v1.task.repository;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Filters of {@code GET /tasks} as composable predicates. A {@code null} argument yields a {@code null}
+ * specification, which {@link Specification#where} and {@link Specification#and} ignore.
+ */
+public final class TaskSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskSpecifications() {
+    }
+
+    // served by the completed indexes, which lead with is_completed
+    public static Specification<Task> isCompleted(Boolean completed) {
+        if (completed == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("isCompleted"), completed);
+    }
+
+    // case-insensitive substring match, a full scan: only used when the full-text index is disabled
+    public static Specification<Task> containsText(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(text.strip().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern, LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
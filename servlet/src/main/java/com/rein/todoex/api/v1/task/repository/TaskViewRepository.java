@@ -0,0 +1,25 @@
+package com.rein.todoex.api.v1.task.repository;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskField;
+import com.rein.todoex.api.v1.task.domain.TaskView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
+
+/**
+ * Listings projected into {@link TaskView}s: only the columns of {@code fields} are selected and no entity is
+ * loaded into the persistence context.
+ */
+public interface TaskViewRepository {
+
+    Page<TaskView> findViews(Specification<Task> specification, Set<TaskField> fields, Pageable page);
+
+    /**
+     * Tasks whose title or description contain every word of {@code query}, looked up in the H2 full-text index
+     * created by {@link TaskFullTextIndex}. Words match whole and case-insensitively.
+     */
+    Page<TaskView> searchFullText(String query, Boolean completed, Set<TaskField> fields, Pageable page);
+}
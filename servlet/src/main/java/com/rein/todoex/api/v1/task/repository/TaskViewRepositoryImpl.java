@@ -0,0 +1,152 @@
+package com.rein.todoex.api.v1.task.repository;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskField;
+import com.rein.todoex.api.v1.task.domain.TaskView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+class TaskViewRepositoryImpl implements TaskViewRepository {
+
+    // Hibernate cannot express a table function: the keys returned by FT_SEARCH_DATA are joined to the task table
+    // by primary key in native SQL, so the cost depends on the number of matches rather than on the table size
+    private static final String FULL_TEXT_FROM = "FROM FT_SEARCH_DATA(:query, 0, 0) ft "
+            + "JOIN task t ON t.id = ft.KEYS[1] "
+            + "WHERE ft.\"TABLE\" = 'TASK'";
+    private static final String COMPLETED = " AND t.is_completed = :completed";
+
+    // sort properties are whitelisted by TaskSort, this only maps them to columns
+    private static final Map<String, String> COLUMNS = Map.of(
+            "id", "t.id",
+            "title", "t.title",
+            "description", "t.description",
+            "isCompleted", "t.is_completed",
+            "version", "t.version");
+
+    private final EntityManager entityManager;
+
+    TaskViewRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<TaskView> findViews(Specification<Task> specification, Set<TaskField> fields, Pageable page) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> select = cb.createQuery(TaskView.class);
+        Root<Task> root = select.from(Task.class);
+        select.select(cb.construct(TaskView.class, Arrays.stream(TaskField.values())
+                .map(field -> selection(root, cb, fields, field))
+                .toArray(Selection[]::new)));
+        where(select, root, cb, specification);
+        select.orderBy(QueryUtils.toOrders(page.getSort(), root, cb));
+
+        TypedQuery<TaskView> query = entityManager.createQuery(select);
+        if (page.isPaged()) {
+            query.setFirstResult((int) page.getOffset()).setMaxResults(page.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), page, () -> count(specification));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<TaskView> searchFullText(String query, Boolean completed, Set<TaskField> fields, Pageable page) {
+        String columns = Arrays.stream(TaskField.values())
+                .map(field -> (fields.contains(field) ? COLUMNS.get(field.getProperty()) : "NULL") + " AS " + field.name())
+                .collect(Collectors.joining(", "));
+        NativeQuery<Object[]> select = entityManager.createNativeQuery(
+                "SELECT " + columns + " " + fullTextFrom(completed) + orderBy(page.getSort())).unwrap(NativeQuery.class);
+        // declared types, the driver would otherwise hand the uuid column over as bytes
+        for (TaskField field : TaskField.values()) {
+            select.addScalar(field.name(), field.getType());
+        }
+        bind(select, query, completed);
+        if (page.isPaged()) {
+            select.setFirstResult((int) page.getOffset()).setMaxResults(page.getPageSize());
+        }
+        List<TaskView> content = select.getResultList().stream()
+                .map(TaskViewRepositoryImpl::toView)
+                .toList();
+        return PageableExecutionUtils.getPage(content, page, () -> countFullText(query, completed));
+    }
+
+    private long count(Specification<Task> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        Root<Task> root = count.from(Task.class);
+        count.select(cb.count(root));
+        where(count, root, cb, specification);
+        return entityManager.createQuery(count).getSingleResult();
+    }
+
+    private long countFullText(String query, Boolean completed) {
+        Query count = bind(entityManager.createNativeQuery("SELECT COUNT(*) " + fullTextFrom(completed)), query, completed);
+        return ((Number) count.getSingleResult()).longValue();
+    }
+
+    // a field that was not requested is selected as a typed NULL, so the column is never read
+    private static Selection<?> selection(Root<Task> root, CriteriaBuilder cb, Set<TaskField> fields, TaskField field) {
+        Path<?> path = root.get(field.getProperty());
+        return fields.contains(field) ? path : cb.nullLiteral(path.getJavaType());
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Task> root, CriteriaBuilder cb, Specification<Task> specification) {
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    private static TaskView toView(Object[] row) {
+        return new TaskView((UUID) row[0], (String) row[1], (String) row[2], (Boolean) row[3], (Long) row[4]);
+    }
+
+    private static String fullTextFrom(Boolean completed) {
+        return completed == null ? FULL_TEXT_FROM : FULL_TEXT_FROM + COMPLETED;
+    }
+
+    private static Query bind(Query nativeQuery, String query, Boolean completed) {
+        nativeQuery.setParameter("query", query);
+        if (completed != null) {
+            nativeQuery.setParameter("completed", completed);
+        }
+        return nativeQuery;
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return " ORDER BY t.id";
+        }
+        return sort.stream()
+                .map(order -> column(order.getProperty()) + " " + order.getDirection().name())
+                .collect(Collectors.joining(", ", " ORDER BY ", ""));
+    }
+
+    private static String column(String property) {
+        String column = COLUMNS.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported sort property " + property);
+        }
+        return column;
+    }
+}
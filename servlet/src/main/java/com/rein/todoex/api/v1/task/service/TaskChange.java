@@ -0,0 +1,9 @@
+package com.rein.todoex.api.v1.task.service;
+
+import java.util.UUID;
+
+/**
+ * A committed {@link TaskChangedEvent} as streamed by {@code GET /tasks/changes}, numbered in commit order.
+ */
+public record TaskChange(long sequence, TaskChangedEvent.Type type, UUID id) {
+}
@@ -0,0 +1,102 @@
+package com.rein.todoex.api.v1.task.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ring of the latest task changes, numbered from 1. Appending overwrites the oldest change and never waits for
+ * readers; readers wait for changes past their position and are told when the ones they need were overwritten.
+ * The lock is only held to store one change or copy one batch out.
+ */
+final class TaskChangeBuffer {
+
+    private final TaskChange[] changes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private long last;
+    private boolean closed;
+
+    TaskChangeBuffer(int capacity) {
+        this.changes = new TaskChange[Math.max(1, capacity)];
+    }
+
+    TaskChange append(TaskChangedEvent.Type type, UUID id) {
+        lock.lock();
+        try {
+            TaskChange change = new TaskChange(++last, type, id);
+            changes[slot(change.sequence())] = change;
+            appended.signalAll();
+            return change;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long last() {
+        lock.lock();
+        try {
+            return last;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // whether the changes after this position are all still in the buffer
+    boolean canResume(long after) {
+        lock.lock();
+        try {
+            return after <= last && after >= last - changes.length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Up to {@code max} changes following {@code after}, waiting at most {@code timeout} for the first one.
+     *
+     * @return the changes, empty if none came in time or the buffer was closed, {@code null} if some of them were
+     * already overwritten
+     */
+    List<TaskChange> readAfter(long after, int max, Duration timeout) throws InterruptedException {
+        long nanos = timeout.toNanos();
+        lock.lock();
+        try {
+            while (last <= after && !closed) {
+                if (nanos <= 0) {
+                    return List.of();
+                }
+                nanos = appended.awaitNanos(nanos);
+            }
+            if (after < last - changes.length) {
+                return null;
+            }
+            int count = (int) Math.min(max, Math.max(0, last - after));
+            List<TaskChange> result = new ArrayList<>(count);
+            for (long sequence = after + 1; sequence <= after + count; sequence++) {
+                result.add(changes[slot(sequence)]);
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // wakes up every waiting reader
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % changes.length);
+    }
+}
@@ -0,0 +1,145 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.rein.todoex.config.TaskProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-Sent Events feed of committed task changes for {@code GET /tasks/changes}. Changes are appended to a
+ * {@link TaskChangeBuffer} of {@code todoex.task.change-feed-buffer-size} entries once their transaction commits;
+ * every subscriber streams from its own position in it on a virtual thread, so a slow client never holds up a
+ * writer or another subscriber. A subscriber that falls further behind than the buffer holds is disconnected.
+ * A bulk create takes a single {@code batch_created} entry without an id, so an import cannot push every
+ * subscriber out of the buffer; clients reload their tasks on it.
+ * <p>
+ * Event ids are {@code <epoch>-<sequence>}, the epoch being the startup time. A client reconnecting with a
+ * {@code Last-Event-ID} still in the buffer misses nothing; otherwise it first gets a {@code reset} event and should
+ * reload its tasks. Like {@link TaskChangeMarker}, only writes made through this instance are seen.
+ */
+@Slf4j
+@Service
+public class TaskChangeFeed {
+
+    private static final String RESET = "reset";
+
+    private static final int SEND_BATCH = 256;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final TaskChangeBuffer buffer;
+    private final Duration heartbeat;
+    private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter dropped;
+    private volatile boolean open = true;
+
+    public TaskChangeFeed(TaskProperties taskProperties, MeterRegistry meterRegistry) {
+        this.buffer = new TaskChangeBuffer(taskProperties.getChangeFeedBufferSize());
+        this.heartbeat = taskProperties.getChangeFeedHeartbeat();
+        Gauge.builder("todoex.task.changes.subscribers", subscribers, Set::size)
+                .description("Open GET /tasks/changes streams")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("todoex.task.changes.dropped")
+                .description("Change feed subscribers disconnected for falling behind")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    void onTaskChanged(TaskChangedEvent event) {
+        buffer.append(event.type(), event.id());
+    }
+
+    /**
+     * Streams the changes committed after {@code lastEventId}, or from now on when it is {@code null}.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        long position = buffer.last();
+        boolean reset = false;
+        if (lastEventId != null) {
+            Long resumeFrom = sequenceOf(lastEventId);
+            if (resumeFrom != null && buffer.canResume(resumeFrom)) {
+                position = resumeFrom;
+            } else {
+                reset = true;
+            }
+        }
+
+        SseEmitter emitter = new SseEmitter();
+        subscribers.add(emitter);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        long from = position;
+        boolean sendReset = reset;
+        Thread.ofVirtual().name("task-changes").start(() -> stream(emitter, from, sendReset));
+        return emitter;
+    }
+
+    @PreDestroy
+    void close() {
+        open = false;
+        buffer.close();
+    }
+
+    private void stream(SseEmitter emitter, long after, boolean reset) {
+        try {
+            if (reset) {
+                emitter.send(SseEmitter.event().id(eventId(after)).name(RESET).data(RESET));
+            }
+            while (open) {
+                List<TaskChange> changes = buffer.readAfter(after, SEND_BATCH, heartbeat);
+                if (changes == null) {
+                    // it resumes with a reset once it reconnects
+                    log.debug("Disconnecting a change feed subscriber that fell behind at {}", after);
+                    dropped.increment();
+                    break;
+                }
+                if (changes.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                for (TaskChange change : changes) {
+                    emitter.send(SseEmitter.event()
+                            .id(eventId(change.sequence()))
+                            .name(change.type().name().toLowerCase(Locale.ROOT))
+                            .data(change));
+                    after = change.sequence();
+                }
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // the client went away or the request timed out, either way the emitter is done
+            log.debug("Change feed subscriber closed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } finally {
+            subscribers.remove(emitter);
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // null when the id was issued before a restart or is not one of ours
+    private Long sequenceOf(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
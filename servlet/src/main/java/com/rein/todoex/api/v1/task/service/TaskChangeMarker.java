@@ -0,0 +1,45 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.rein.todoex.config.ReplicaDataSourceConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Table-level change marker of the task table, used as the ETag of task listings. It is bumped once a write has
+ * committed, so a listing that reads the marker before running its query never tags new rows with an old marker.
+ * The marker starts from the startup time, so tags issued before a restart do not match. Writes made by another
+ * instance or outside {@link TaskServiceImpl} are not seen.
+ * <p>
+ * The marker follows the primary. When listings are read from a replica ({@link ReplicaDataSourceConfig}), a page
+ * read right after a write may predate it and would be cached under the new marker, so listings carry no ETag.
+ */
+@Component
+public class TaskChangeMarker {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong changes = new AtomicLong();
+    private final boolean coversListings;
+
+    public TaskChangeMarker(ObjectProvider<ReplicaDataSourceConfig> replicaDataSourceConfig) {
+        this.coversListings = replicaDataSourceConfig.getIfAvailable() == null;
+    }
+
+    /**
+     * Whether a listing read now sees every change the marker has counted, so the marker can tag it.
+     */
+    public boolean coversListings() {
+        return coversListings;
+    }
+
+    public String current() {
+        return epoch + "-" + changes.get();
+    }
+
+    @TransactionalEventListener
+    void onTaskChanged(TaskChangedEvent event) {
+        changes.incrementAndGet();
+    }
+}
@@ -0,0 +1,39 @@
+package com.rein.todoex.api.v1.task.service;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link TaskServiceImpl} for every task it writes, and once per batch for bulk creates. Listeners
+ * that must only see committed changes use {@code @TransactionalEventListener}. A {@code null} id stands for every
+ * task, as in {@code deleteAll}, or for the tasks of a batch. {@code wasCompleted} and {@code completed} are the
+ * task's isCompleted before and after the change, {@code null} where there is no before (created) or after
+ * (deleted), and both {@code null} for an update that left isCompleted as it was. {@code count} and {@code completedCount} are only set for {@code BATCH_CREATED}: the number of tasks
+ * created and how many of them are completed.
+ */
+public record TaskChangedEvent(Type type, UUID id, Boolean wasCompleted, Boolean completed, int count,
+                               int completedCount) {
+
+    public enum Type {
+        CREATED,
+        // many tasks created in one transaction, published once so listeners hold one event per batch, not per row
+        BATCH_CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChangedEvent created(UUID id, Boolean completed) {
+        return new TaskChangedEvent(Type.CREATED, id, null, completed, 0, 0);
+    }
+
+    public static TaskChangedEvent batchCreated(int count, int completedCount) {
+        return new TaskChangedEvent(Type.BATCH_CREATED, null, null, null, count, completedCount);
+    }
+
+    public static TaskChangedEvent updated(UUID id, Boolean wasCompleted, Boolean completed) {
+        return new TaskChangedEvent(Type.UPDATED, id, wasCompleted, completed, 0, 0);
+    }
+
+    public static TaskChangedEvent deleted(UUID id, Boolean wasCompleted) {
+        return new TaskChangedEvent(Type.DELETED, id, wasCompleted, null, 0, 0);
+    }
+}
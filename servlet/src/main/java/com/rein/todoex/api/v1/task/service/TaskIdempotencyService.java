@@ -0,0 +1,217 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskBatchResult;
+import com.rein.todoex.api.v1.task.domain.TaskIdempotencyKey;
+import com.rein.todoex.api.v1.task.repository.TaskIdempotencyKeyRepository;
+import com.rein.todoex.api.v1.task.repository.TaskRepository;
+import com.rein.todoex.config.CacheConfig;
+import com.rein.todoex.config.TaskProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates retried creates by their {@code Idempotency-Key}. The ids a key created are recorded in the
+ * {@code task_idempotency_key} table, in the transaction that inserts the tasks, and kept in a bounded, expiring
+ * cache in front of it. A retry is answered from either without inserting again, also after a restart, for
+ * {@code todoex.task.idempotency-key-retention}. The key is recorded with a fingerprint of the endpoint and body, a
+ * key sent again with a different request is answered with 422 rather than with the results of the first one.
+ */
+@Slf4j
+@Service
+public class TaskIdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final TaskServiceImpl taskService;
+    private final TaskIdempotencyKeyRepository idempotencyKeyRepository;
+    private final TaskRepository taskRepository;
+    private final TaskProperties taskProperties;
+    private final ObjectMapper objectMapper;
+    private final Cache cache;
+
+    public TaskIdempotencyService(TaskServiceImpl taskService, TaskIdempotencyKeyRepository idempotencyKeyRepository,
+                                  TaskRepository taskRepository, TaskProperties taskProperties, ObjectMapper objectMapper,
+                                  CacheManager cacheManager) {
+        this.taskService = taskService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.taskRepository = taskRepository;
+        this.taskProperties = taskProperties;
+        this.objectMapper = objectMapper;
+        this.cache = cacheManager.getCache(CacheConfig.IDEMPOTENCY_KEYS);
+    }
+
+    /**
+     * Creates the task, or returns the task created by an earlier request with the same key as it is now. When that
+     * task has been deleted since, the request is answered with 410: there is nothing left to replay, and creating it
+     * again would not be what the first request did.
+     */
+    public Task addTask(Task task, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return taskService.addTask(task);
+        }
+        requireValid(idempotencyKey);
+        // before saving, which assigns the id and timestamps
+        String fingerprint = fingerprint("POST /tasks", task);
+        List<Task> saved = new ArrayList<>(1);
+        Map<Integer, UUID> created = createOnce(idempotencyKey, fingerprint, () -> {
+            saved.add(taskService.addTask(task, idempotencyKey, fingerprint));
+            return Map.of(0, saved.get(0).getId());
+        });
+        if (!saved.isEmpty()) {
+            return saved.get(0);
+        }
+        UUID id = created.get(0);
+        if (id == null) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was used for a different request");
+        }
+        // not from the tasks cache or a replica, either may still hold a task that is deleted, or miss one that was
+        // just created by a concurrent request
+        return taskRepository.findOnPrimaryById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.GONE, "The task created with this Idempotency-Key has been deleted"));
+    }
+
+    /**
+     * Creates the tasks, or rebuilds the results of an earlier request with the same key. Items that created no
+     * task then were rejected for their title, which a retry with the same body still has. Tasks deleted since are
+     * still reported as created, as they were.
+     */
+    public List<TaskBatchResult> addTasks(List<Task> tasks, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return taskService.addTasks(tasks);
+        }
+        requireValid(idempotencyKey);
+        String fingerprint = fingerprint("POST /tasks/batch", tasks);
+        List<TaskBatchResult> results = new ArrayList<>();
+        Map<Integer, UUID> created = createOnce(idempotencyKey, fingerprint, () -> {
+            results.addAll(taskService.addTasks(tasks, idempotencyKey, fingerprint));
+            return createdIds(results);
+        });
+        if (!results.isEmpty()) {
+            return results;
+        }
+        for (int index = 0; index < tasks.size(); index++) {
+            UUID id = created.get(index);
+            results.add(id != null
+                    ? TaskBatchResult.created(index, id)
+                    : TaskBatchResult.rejected(index, TaskServiceImpl.TITLE_REQUIRED));
+        }
+        return results;
+    }
+
+    @Scheduled(initialDelayString = "${todoex.task.idempotency-purge-interval:PT1H}",
+            fixedDelayString = "${todoex.task.idempotency-purge-interval:PT1H}")
+    public void purgeExpiredKeys() {
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minus(taskProperties.getIdempotencyKeyRetention()));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    // the ids created for the key, running create when there are none yet. A request that created nothing, a batch
+    // of rejected tasks, is not remembered: running it again inserts nothing either
+    private Map<Integer, UUID> createOnce(String idempotencyKey, String fingerprint, Supplier<Map<Integer, UUID>> create) {
+        Created created = findCreated(idempotencyKey, false);
+        if (created != null) {
+            return created.idsFor(fingerprint);
+        }
+        Map<Integer, UUID> ids;
+        try {
+            ids = create.get();
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent request with the same key committed first, its transaction holds the answer
+            created = findCreated(idempotencyKey, true);
+            if (created == null) {
+                throw e;
+            }
+            return created.idsFor(fingerprint);
+        }
+        if (!ids.isEmpty()) {
+            cache.put(idempotencyKey, new Created(fingerprint, ids));
+        }
+        return ids;
+    }
+
+    private Created findCreated(String idempotencyKey, boolean onPrimary) {
+        Cache.ValueWrapper cached = cache.get(idempotencyKey);
+        if (cached != null) {
+            return (Created) cached.get();
+        }
+        List<TaskIdempotencyKey> rows = onPrimary
+                ? idempotencyKeyRepository.findOnPrimaryByIdempotencyKey(idempotencyKey)
+                : idempotencyKeyRepository.findByIdempotencyKey(idempotencyKey);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Map<Integer, UUID> ids = new HashMap<>();
+        for (TaskIdempotencyKey row : rows) {
+            ids.put(row.getItem(), row.getTaskId());
+        }
+        Created created = new Created(rows.get(0).getRequestFingerprint(), ids);
+        cache.put(idempotencyKey, created);
+        return created;
+    }
+
+    // the endpoint and a SHA-256 of the body as read, so whitespace and field order do not make another request
+    private String fingerprint(String endpoint, Object body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(endpoint.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(body));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint the request", e);
+        }
+    }
+
+    private static Map<Integer, UUID> createdIds(List<TaskBatchResult> results) {
+        Map<Integer, UUID> created = new HashMap<>();
+        for (TaskBatchResult result : results) {
+            if (result.status() == TaskBatchResult.Status.CREATED) {
+                created.put(result.index(), result.id());
+            }
+        }
+        return created;
+    }
+
+    // the value cached per key. A null fingerprint comes from a row recorded before fingerprints were
+    private record Created(String fingerprint, Map<Integer, UUID> ids) {
+
+        Map<Integer, UUID> idsFor(String requestFingerprint) {
+            if (fingerprint != null && !Objects.equals(fingerprint, requestFingerprint)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was used for a different request");
+            }
+            return ids;
+        }
+    }
+
+    private static void requireValid(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+}
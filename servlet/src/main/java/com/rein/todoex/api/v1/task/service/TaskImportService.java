@@ -0,0 +1,223 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskBatchResult;
+import com.rein.todoex.api.v1.task.domain.TaskImportReport;
+import com.rein.todoex.config.TaskProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Imports tasks from an NDJSON or CSV stream. Lines are parsed one at a time and handed to
+ * {@link TaskService#addTasks} in chunks of {@code todoex.task.import-chunk-size}, each in its own transaction,
+ * so a failed chunk never rolls back the ones before it. The next line is only read once the current chunk has
+ * been written, which keeps memory flat and lets the database pace the upload.
+ */
+@Slf4j
+@Service
+public class TaskImportService {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    static final String CHUNK_FAILED = "Chunk could not be written";
+
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final TaskProperties taskProperties;
+
+    public TaskImportService(TaskService taskService, ObjectMapper objectMapper, TaskProperties taskProperties) {
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.taskProperties = taskProperties;
+    }
+
+    public TaskImportReport importTasks(InputStream input, Format format) throws IOException {
+        Import state = new Import();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        CsvHeader csvHeader = null;
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            if (header == null) {
+                return state.report();
+            }
+            state.linesRead++;
+            csvHeader = CsvHeader.parse(header);
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            long lineNumber = ++state.linesRead;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Task task = format == Format.CSV ? csvHeader.toTask(line) : objectMapper.readValue(line, Task.class);
+                state.add(lineNumber, task);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                state.reject(lineNumber, "Malformed record");
+            }
+            if (state.chunk.size() >= taskProperties.getImportChunkSize()) {
+                state.flush();
+            }
+        }
+        state.flush();
+        return state.report();
+    }
+
+    private final class Import {
+
+        private List<Task> chunk = new ArrayList<>();
+        private List<Long> chunkLines = new ArrayList<>();
+        private final List<TaskImportReport.RejectedLine> rejectedLines = new ArrayList<>();
+        private long linesRead;
+        private long imported;
+        private long rejected;
+        private int chunksCommitted;
+        private int chunksFailed;
+
+        void add(long line, Task task) {
+            chunk.add(task);
+            chunkLines.add(line);
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (rejectedLines.size() < taskProperties.getImportMaxReportedRejections()) {
+                rejectedLines.add(new TaskImportReport.RejectedLine(line, message));
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                List<TaskBatchResult> results = taskService.addTasks(chunk);
+                for (TaskBatchResult result : results) {
+                    if (result.status() == TaskBatchResult.Status.CREATED) {
+                        imported++;
+                    } else {
+                        reject(chunkLines.get(result.index()), result.message());
+                    }
+                }
+                chunksCommitted++;
+            } catch (RuntimeException e) {
+                log.warn("Import chunk of lines {}-{} failed", chunkLines.get(0), chunkLines.get(chunkLines.size() - 1), e);
+                chunksFailed++;
+                for (Long line : chunkLines) {
+                    // the cause is logged above, its message can carry SQL and schema details
+                    reject(line, CHUNK_FAILED);
+                }
+            }
+            log.info("Import progress: {} lines read, {} imported, {} rejected", linesRead, imported, rejected);
+            chunk = new ArrayList<>();
+            chunkLines = new ArrayList<>();
+        }
+
+        TaskImportReport report() {
+            return new TaskImportReport(linesRead, imported, rejected, chunksCommitted, chunksFailed, List.copyOf(rejectedLines));
+        }
+    }
+
+    /**
+     * Column positions of a CSV header with {@code title} and optional {@code description} and {@code isCompleted}.
+     * Fields follow RFC 4180 quoting; quoted fields spanning several lines are not supported.
+     */
+    private record CsvHeader(int title, int description, int isCompleted) {
+
+        static CsvHeader parse(String header) {
+            List<String> columns = parseLine(header);
+            int title = -1;
+            int description = -1;
+            int isCompleted = -1;
+            for (int i = 0; i < columns.size(); i++) {
+                switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "title" -> title = i;
+                    case "description" -> description = i;
+                    case "iscompleted", "is_completed" -> isCompleted = i;
+                    default -> {
+                    }
+                }
+            }
+            if (title < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header must contain a title column");
+            }
+            return new CsvHeader(title, description, isCompleted);
+        }
+
+        Task toTask(String line) {
+            List<String> fields = parseLine(line);
+            Task.TaskBuilder task = Task.builder().title(field(fields, title));
+            String descriptionValue = field(fields, description);
+            if (descriptionValue != null) {
+                task.description(descriptionValue);
+            }
+            String completedValue = field(fields, isCompleted);
+            if (completedValue != null && !completedValue.isBlank()) {
+                task.isCompleted(parseBoolean(completedValue.trim()));
+            }
+            return task.build();
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index) : null;
+        }
+
+        private static boolean parseBoolean(String value) {
+            if (value.equalsIgnoreCase("true")) {
+                return true;
+            }
+            if (value.equalsIgnoreCase("false")) {
+                return false;
+            }
+            throw new IllegalArgumentException("Invalid boolean " + value);
+        }
+
+        private static List<String> parseLine(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
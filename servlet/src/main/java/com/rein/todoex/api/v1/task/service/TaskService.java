@@ -0,0 +1,35 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskBatchResult;
+import com.rein.todoex.api.v1.task.domain.TaskField;
+import com.rein.todoex.api.v1.task.domain.TaskFilter;
+import com.rein.todoex.api.v1.task.domain.TaskPatch;
+import com.rein.todoex.api.v1.task.domain.TaskView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface TaskService {
+
+    Task addTask(Task task);
+    Task addTask(Task task, String idempotencyKey, String requestFingerprint);
+    List<TaskBatchResult> addTasks(Collection<Task> tasks);
+    List<TaskBatchResult> addTasks(Collection<Task> tasks, String idempotencyKey, String requestFingerprint);
+    Iterable<Task> getAllTasks(Pageable page);
+    Page<TaskView> getAllTasks(TaskFilter filter, Set<TaskField> fields, Pageable page);
+    Slice<Task> getTasksAfter(String cursor, int size, Sort.Direction direction);
+    Task getTask(UUID id);
+    void exportTasks(Consumer<Task> consumer);
+    Task updateTask(UUID id, Task task, Long expectedVersion);
+    Task patchTask(UUID id, TaskPatch patch, Long expectedVersion);
+    void deleteTask(UUID id, Long expectedVersion);
+    void deleteAll();
+}
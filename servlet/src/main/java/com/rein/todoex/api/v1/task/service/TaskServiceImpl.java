@@ -0,0 +1,360 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+
+import com.rein.todoex.api.v1.task.domain.TaskBatchResult;
+import com.rein.todoex.api.v1.task.domain.TaskCursor;
+import com.rein.todoex.api.v1.task.domain.TaskField;
+import com.rein.todoex.api.v1.task.domain.TaskFilter;
+import com.rein.todoex.api.v1.task.domain.TaskIdempotencyKey;
+import com.rein.todoex.api.v1.task.domain.TaskPatch;
+import com.rein.todoex.api.v1.task.domain.TaskView;
+import com.rein.todoex.api.v1.task.repository.TaskRepository;
+import com.rein.todoex.api.v1.task.repository.TaskSpecifications;
+import com.rein.todoex.config.CacheConfig;
+import com.rein.todoex.config.TaskProperties;
+import io.micrometer.common.util.StringUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+@Timed(value = "todoex.task.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
+public class TaskServiceImpl implements TaskService {
+
+    static final String TITLE_REQUIRED = "Title should not be empty";
+    private static final String TASK_ID_REQUIRED = "Valid Task Id Required";
+
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final TaskProperties taskProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskServiceImpl(TaskRepository taskRepository, EntityManager entityManager, TaskProperties taskProperties,
+                           ApplicationEventPublisher eventPublisher) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.taskProperties = taskProperties;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS, key = "#result.id")
+    public Task addTask(Task task) {
+        return addTask(task, null, null);
+    }
+
+    /**
+     * Creates the task and, given an {@code idempotencyKey}, records the key with the fingerprint of the request in the
+     * same transaction. A key that is already recorded fails the commit with a {@code DataIntegrityViolationException}, see TaskIdempotencyService.
+     */
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS, key = "#result.id")
+    public Task addTask(Task task, String idempotencyKey, String requestFingerprint) {
+        requireTitle(task);
+        // ids are assigned by the server, only the write-behind queue hands in tasks that already have one
+        task.setId(null);
+        Task saved = taskRepository.save(task);
+        if (idempotencyKey != null) {
+            recordIdempotencyKey(idempotencyKey, requestFingerprint, List.of(TaskBatchResult.created(0, saved.getId())));
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.created(saved.getId(), saved.getIsCompleted()));
+        return saved;
+    }
+
+    /**
+     * Creates all tasks with a valid title in a single transaction. Rows are flushed every
+     * {@code todoex.task.batch-size} tasks so Hibernate can send them as JDBC batches, and the
+     * persistence context is cleared after each flush to keep memory flat for large imports.
+     * Tasks with a blank title are rejected without aborting the rest of the batch.
+     */
+    @Transactional
+    public List<TaskBatchResult> addTasks(Collection<Task> tasks) {
+        return addTasks(tasks, null, null);
+    }
+
+    /**
+     * {@link #addTasks(Collection)} that also records the created tasks under {@code idempotencyKey}, like
+     * {@link #addTask(Task, String, String)}.
+     */
+    @Transactional
+    public List<TaskBatchResult> addTasks(Collection<Task> tasks, String idempotencyKey, String requestFingerprint) {
+        List<TaskBatchResult> results = new ArrayList<>(tasks.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(tasks.size());
+        List<Task> accepted = new ArrayList<>(tasks.size());
+        int index = 0;
+        for (Task task : tasks) {
+            if (task == null || StringUtils.isBlank(task.getTitle())) {
+                results.add(TaskBatchResult.rejected(index, TITLE_REQUIRED));
+            } else {
+                task.setId(null);
+                results.add(null);
+                acceptedIndexes.add(index);
+                accepted.add(task);
+            }
+            index++;
+        }
+
+        List<Task> saved = saveInBatches(accepted);
+        for (int i = 0; i < saved.size(); i++) {
+            int resultIndex = acceptedIndexes.get(i);
+            results.set(resultIndex, TaskBatchResult.created(resultIndex, saved.get(i).getId()));
+        }
+        if (idempotencyKey != null) {
+            recordIdempotencyKey(idempotencyKey, requestFingerprint, results);
+        }
+        return results;
+    }
+
+    /**
+     * Inserts tasks that were validated and given an id when they were accepted, as the write-behind queue does,
+     * in a single transaction batched like {@link #addTasks}.
+     */
+    @Transactional
+    public void addAssignedTasks(List<Task> tasks) {
+        saveInBatches(tasks);
+    }
+
+    static void requireTitle(Task task) {
+        if (task == null || StringUtils.isBlank(task.getTitle())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TITLE_REQUIRED);
+        }
+    }
+
+    // one row per created task, flushed in batches like the tasks themselves
+    private void recordIdempotencyKey(String idempotencyKey, String requestFingerprint, List<TaskBatchResult> results) {
+        Instant now = Instant.now();
+        int batchSize = Math.max(1, taskProperties.getBatchSize());
+        int pending = 0;
+        for (TaskBatchResult result : results) {
+            if (result.status() != TaskBatchResult.Status.CREATED) {
+                continue;
+            }
+            entityManager.persist(TaskIdempotencyKey.builder()
+                    .taskId(result.id())
+                    .idempotencyKey(idempotencyKey)
+                    .requestFingerprint(requestFingerprint)
+                    .item(result.index())
+                    .createdAt(now)
+                    .build());
+            if (++pending % batchSize == 0) {
+                taskRepository.flush();
+                entityManager.clear();
+            }
+        }
+    }
+
+    // one BATCH_CREATED event for all tasks: an event per row would be held by every transactional listener until
+    // the commit, growing with the batch despite the flush and clear per chunk
+    private List<Task> saveInBatches(List<Task> tasks) {
+        List<Task> saved = new ArrayList<>(tasks.size());
+        int batchSize = Math.max(1, taskProperties.getBatchSize());
+        int completed = 0;
+        for (int from = 0; from < tasks.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, tasks.size());
+            List<Task> chunk = taskRepository.saveAll(tasks.subList(from, to));
+            taskRepository.flush();
+            entityManager.clear();
+            for (Task task : chunk) {
+                saved.add(task);
+                if (Boolean.TRUE.equals(task.getIsCompleted())) {
+                    completed++;
+                }
+            }
+        }
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(TaskChangedEvent.batchCreated(saved.size(), completed));
+        }
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public Iterable<Task> getAllTasks(Pageable page) {
+        return taskRepository.findAll(page);
+    }
+
+    /**
+     * Filtered page of tasks projected to the requested {@code fields}. A text query is answered from the H2
+     * full-text index when {@code todoex.task.full-text-search} is on, so it only touches matching rows; otherwise
+     * it falls back to a substring match that scans the table.
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskView> getAllTasks(TaskFilter filter, Set<TaskField> fields, Pageable page) {
+        if (filter.hasQuery() && taskProperties.isFullTextSearch()) {
+            return taskRepository.searchFullText(filter.query().strip(), filter.completed(), fields, page);
+        }
+        Specification<Task> specification = Specification.where(TaskSpecifications.isCompleted(filter.completed()))
+                .and(TaskSpecifications.containsText(filter.query()));
+        return taskRepository.findViews(specification, fields, filter.completed() == null ? page : completedFirst(page));
+    }
+
+    /**
+     * Keyset pagination ordered by {@code (title, id)}: each page seeks past the cursor of the previous one
+     * instead of skipping rows with OFFSET, so deep pages cost the same as the first one.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Task> getTasksAfter(String cursor, int size, Sort.Direction direction) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be greater than zero");
+        }
+        Pageable limit = PageRequest.ofSize(size);
+        if (StringUtils.isBlank(cursor)) {
+            return direction.isAscending()
+                    ? taskRepository.findAllByOrderByTitleAscIdAsc(limit)
+                    : taskRepository.findAllByOrderByTitleDescIdDesc(limit);
+        }
+        TaskCursor position = decodeCursor(cursor);
+        return direction.isAscending()
+                ? taskRepository.findByTitleAndIdAfter(position.title(), position.id(), limit)
+                : taskRepository.findByTitleAndIdBefore(position.title(), position.id(), limit);
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.TASKS, key = "#id")
+    public Task getTask(UUID id) {
+        return taskRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, TASK_ID_REQUIRED));
+    }
+
+    /**
+     * Hands every task to {@code consumer} while scrolling through the table. Each task is detached once consumed
+     * so the persistence context does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void exportTasks(Consumer<Task> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamAll()) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                entityManager.detach(task);
+            });
+        }
+    }
+
+    /**
+     * Overwrites all fields with a single UPDATE; the task is not loaded first. When {@code expectedVersion}
+     * is given the update only applies to that version, otherwise the new version is read back.
+     */
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS, key = "#id")
+    public Task updateTask(UUID id, Task task, Long expectedVersion) {
+        requireTitle(task);
+        // a PUT usually sends the completion the task already has
+        boolean wasCompleted = writeIfCompleted(id, expectedVersion, Boolean.TRUE.equals(task.getIsCompleted()),
+                completed -> taskRepository.updateTask(id, expectedVersion, task.getTitle(), task.getDescription(),
+                        task.getIsCompleted(), completed));
+        eventPublisher.publishEvent(TaskChangedEvent.updated(id, wasCompleted, task.getIsCompleted()));
+        if (expectedVersion == null) {
+            return getTask(id);
+        }
+        return Task.builder()
+                .id(id)
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .isCompleted(task.getIsCompleted())
+                .version(expectedVersion + 1)
+                .build();
+    }
+
+    /**
+     * Updates only the non-null fields of the patch with a single UPDATE, then reads the task back.
+     */
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS, key = "#id")
+    public Task patchTask(UUID id, TaskPatch patch, Long expectedVersion) {
+        if (patch.title() != null && StringUtils.isBlank(patch.title())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TITLE_REQUIRED);
+        }
+        if (patch.isCompleted() == null) {
+            // the completion stays as it is, whatever it was
+            if (taskRepository.patchTask(id, expectedVersion, patch.title(), patch.description(), null, null) == 0) {
+                throw notUpdated(id, expectedVersion);
+            }
+            eventPublisher.publishEvent(TaskChangedEvent.updated(id, null, null));
+            return getTask(id);
+        }
+        // a PATCH of isCompleted usually flips it
+        boolean wasCompleted = writeIfCompleted(id, expectedVersion, !patch.isCompleted(),
+                completed -> taskRepository.patchTask(id, expectedVersion, patch.title(), patch.description(),
+                        patch.isCompleted(), completed));
+        eventPublisher.publishEvent(TaskChangedEvent.updated(id, wasCompleted, patch.isCompleted()));
+        return getTask(id);
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
+    public void deleteTask(UUID id, Long expectedVersion) {
+        boolean wasCompleted = writeIfCompleted(id, expectedVersion, false,
+                completed -> taskRepository.deleteTask(id, expectedVersion, completed));
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id, wasCompleted));
+    }
+
+    // runs the write on the likely isCompleted of the row, and on the other one when no row matched, so the change
+    // event knows the value it replaced without reading or locking the row. A wrong guess costs one more statement
+    private boolean writeIfCompleted(UUID id, Long expectedVersion, boolean likely, Function<Boolean, Integer> write) {
+        if (write.apply(likely) > 0) {
+            return likely;
+        }
+        if (write.apply(!likely) > 0) {
+            return !likely;
+        }
+        throw notUpdated(id, expectedVersion);
+    }
+
+    // only called when nothing was written, so telling a stale version from a missing task costs no extra query on success
+    private ResponseStatusException notUpdated(UUID id, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.existsById(id)) {
+            return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has been modified");
+        }
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, TASK_ID_REQUIRED);
+    }
+
+    // is_completed is fixed by the filter, leading the order with it lets H2 read the completed index in order
+    // instead of sorting every match
+    private static Pageable completedFirst(Pageable page) {
+        Sort.Order first = page.getSort().stream().findFirst().orElse(null);
+        if (page.isUnpaged() || first == null || first.getProperty().equals("isCompleted")) {
+            return page;
+        }
+        Sort sort = Sort.by(first.getDirection(), "isCompleted").and(page.getSort());
+        return PageRequest.of(page.getPageNumber(), page.getPageSize(), sort);
+    }
+
+    private TaskCursor decodeCursor(String cursor) {
+        try {
+            return TaskCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    // used for testing only
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, allEntries = true)
+    public void deleteAll() {
+        taskRepository.deleteAll();
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(null, null));
+    }
+}
@@ -0,0 +1,113 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.rein.todoex.api.v1.task.domain.TaskStats;
+import com.rein.todoex.api.v1.task.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Total and completed task counts for {@code GET /tasks/stats}, kept in memory so reading them never queries the
+ * database. They are counted once at startup, then moved by every committed {@link TaskChangedEvent}.
+ * <p>
+ * Writes made by another instance or outside {@link TaskServiceImpl} are not seen, and a change committing while the
+ * counts are read at startup can be counted twice or missed. Both are corrected every
+ * {@code todoex.task.stats-reconcile-interval} by recounting. A recount is only trusted when no change was in flight
+ * while it ran: one committed but not applied yet would be counted twice, so the correction then waits for the next
+ * interval.
+ */
+@Slf4j
+@Component
+// counted before the first change is published, lazy initialization would count that change twice
+@Lazy(false)
+public class TaskStatistics {
+
+    private final TaskRepository taskRepository;
+    private final LongAdder total = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    // changes published by a transaction that has not completed yet, and changes applied so far
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+
+    public TaskStatistics(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+        TaskStats stats = taskRepository.countStats();
+        total.add(stats.total());
+        completed.add(stats.completed());
+    }
+
+    public TaskStats current() {
+        return new TaskStats(total.sum(), completed.sum());
+    }
+
+    // as the change is published, inside its transaction
+    @EventListener
+    void onTaskPublished(TaskChangedEvent event) {
+        inFlight.increment();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    void onTaskRolledBack(TaskChangedEvent event) {
+        inFlight.decrement();
+    }
+
+    @TransactionalEventListener
+    void onTaskChanged(TaskChangedEvent event) {
+        apply(event);
+        applied.increment();
+        inFlight.decrement();
+    }
+
+    @Scheduled(initialDelayString = "${todoex.task.stats-reconcile-interval:PT5M}",
+            fixedDelayString = "${todoex.task.stats-reconcile-interval:PT5M}")
+    public void reconcile() {
+        long appliedBefore = applied.sum();
+        TaskStats actual = taskRepository.countStats();
+        TaskStats counted = current();
+        // any change that may have committed before or during the count, but applied after it or not at all yet
+        if (inFlight.sum() > 0 || applied.sum() != appliedBefore) {
+            log.debug("Skipping task statistics reconciliation, changes were in flight");
+            return;
+        }
+        long totalDrift = actual.total() - counted.total();
+        long completedDrift = actual.completed() - counted.completed();
+        if (totalDrift != 0 || completedDrift != 0) {
+            log.info("Correcting task statistics by {} total, {} completed", totalDrift, completedDrift);
+            total.add(totalDrift);
+            completed.add(completedDrift);
+        }
+    }
+
+    private void apply(TaskChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> {
+                total.increment();
+                completed.add(count(event.completed()));
+            }
+            case BATCH_CREATED -> {
+                total.add(event.count());
+                completed.add(event.completedCount());
+            }
+            case UPDATED -> completed.add(count(event.completed()) - count(event.wasCompleted()));
+            case DELETED -> {
+                if (event.id() == null) {
+                    total.reset();
+                    completed.reset();
+                } else {
+                    total.decrement();
+                    completed.add(-count(event.wasCompleted()));
+                }
+            }
+        }
+    }
+
+    private static long count(Boolean completed) {
+        return Boolean.TRUE.equals(completed) ? 1 : 0;
+    }
+}
@@ -0,0 +1,244 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.UuidV7s;
+import com.rein.todoex.config.TaskProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind creation of tasks for {@code POST /tasks?async=true}. Tasks are validated and given their id on
+ * {@link #enqueue}, then a single writer thread inserts them in batches of up to {@code todoex.task.async-batch-size},
+ * waiting at most {@code todoex.task.async-linger} for a batch to fill. The queue is bounded: once
+ * {@code todoex.task.async-queue-capacity} tasks are waiting, requests are refused with 429.
+ * <p>
+ * A queued task is only in memory until its batch commits, so a crash loses it. On shutdown the queue is drained
+ * after the web server has stopped accepting requests.
+ */
+@Slf4j
+@Service
+public class TaskWriteBehindService implements SmartLifecycle {
+
+    // below the web server, which stops first so no request is accepted while the queue drains
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long POLL_MILLIS = 100;
+
+    private record Pending(Task task, long enqueuedAt) {
+    }
+
+    private final TaskServiceImpl taskService;
+    private final TaskProperties taskProperties;
+    private final BlockingQueue<Pending> queue;
+    private final Timer writeLag;
+    private final Counter rejected;
+    private final Counter failed;
+
+    // enqueue checks running and offers under the read lock, stop() flips it under the write lock, so nothing is
+    // queued after the writer may have seen the queue empty for the last time
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private final AtomicLong accepted = new AtomicLong();
+    private final Object settledMonitor = new Object();
+    private long settled;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public TaskWriteBehindService(TaskServiceImpl taskService, TaskProperties taskProperties, MeterRegistry meterRegistry) {
+        this.taskService = taskService;
+        this.taskProperties = taskProperties;
+        this.queue = new ArrayBlockingQueue<>(taskProperties.getAsyncQueueCapacity());
+        Gauge.builder("todoex.task.async.queue.depth", queue, BlockingQueue::size)
+                .description("Tasks accepted with async=true and not written yet")
+                .register(meterRegistry);
+        this.writeLag = Timer.builder("todoex.task.async.write.lag")
+                .description("Time from accepting an async task to committing it")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("todoex.task.async.rejected")
+                .description("Async tasks refused because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("todoex.task.async.failed")
+                .description("Async tasks that could not be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validates the task, assigns its id and queues it for writing.
+     *
+     * @return the task with its id, not written yet; the queue holds a copy of it
+     * @throws ResponseStatusException 400 for a blank title, 429 when the queue is full, 503 while shutting down
+     */
+    public Task enqueue(Task task) {
+        TaskServiceImpl.requireTitle(task);
+        Lock lock = acceptLock.readLock();
+        lock.lock();
+        try {
+            if (!running) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Async writes are not accepted");
+            }
+            task.setId(UuidV7s.next());
+            task.setVersion(null);
+            if (!queue.offer(new Pending(copyOf(task), System.nanoTime()))) {
+                rejected.increment();
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many pending async writes");
+            }
+            accepted.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+        return task;
+    }
+
+    /**
+     * Waits until every task accepted so far has been written, or dropped after failing.
+     *
+     * @return false if that did not happen within the timeout
+     */
+    public boolean awaitWritten(Duration timeout) throws InterruptedException {
+        long target = accepted.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (settledMonitor) {
+            while (settled < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(settledMonitor, remaining);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("task-write-behind").daemon().start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        Lock lock = acceptLock.writeLock();
+        lock.lock();
+        try {
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+        Duration timeout = taskProperties.getAsyncDrainTimeout();
+        try {
+            if (!writer.join(timeout)) {
+                log.warn("Write-behind queue not drained within {}, {} tasks lost", timeout, queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    // keeps writing until stopped and the queue is empty
+    private void drain() {
+        int batchSize = Math.max(1, taskProperties.getAsyncBatchSize());
+        long lingerNanos = taskProperties.getAsyncLinger().toNanos();
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // keep draining, stop() waits for the queue to be empty
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                settle(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        try {
+            taskService.addAssignedTasks(batch.stream().map(Pending::task).toList());
+            recordLag(batch);
+        } catch (RuntimeException e) {
+            log.warn("Write-behind batch of {} tasks failed, retrying one by one", batch.size(), e);
+            for (Pending pending : batch) {
+                // the failed flush may have seeded the version, which would make the task look persisted
+                pending.task().setVersion(null);
+                try {
+                    taskService.addAssignedTasks(List.of(pending.task()));
+                    recordLag(List.of(pending));
+                } catch (RuntimeException single) {
+                    failed.increment();
+                    log.error("Dropping async task {}", pending.task().getId(), single);
+                }
+            }
+        }
+    }
+
+    private void settle(int count) {
+        synchronized (settledMonitor) {
+            settled += count;
+            settledMonitor.notifyAll();
+        }
+    }
+
+    private void recordLag(List<Pending> written) {
+        long now = System.nanoTime();
+        for (Pending pending : written) {
+            writeLag.record(now - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // the writer persists its own copy: Hibernate sets the version on it, and the retry resets it, while the caller
+    // may still be serializing the task it got back
+    private static Task copyOf(Task task) {
+        return Task.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .isCompleted(task.getIsCompleted())
+                .build();
+    }
+}
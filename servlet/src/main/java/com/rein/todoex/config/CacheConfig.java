@@ -0,0 +1,26 @@
+package com.rein.todoex.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TASKS = "tasks";
+    public static final String IDEMPOTENCY_KEYS = "idempotencyKeys";
+
+    @Bean
+    public CacheManager cacheManager(TaskProperties taskProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(TASKS);
+        cacheManager.setCacheSpecification(taskProperties.getCacheSpec());
+        cacheManager.registerCustomCache(IDEMPOTENCY_KEYS, Caffeine.from(taskProperties.getIdempotencyCacheSpec()).build());
+        // puts and evictions made inside a transaction only reach the cache once it commits
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
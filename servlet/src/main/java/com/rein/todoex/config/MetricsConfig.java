@@ -0,0 +1,40 @@
+package com.rein.todoex.config;
+
+import com.rein.todoex.api.v1.task.service.TaskStatistics;
+import com.rein.todoex.metrics.QueryCountAsyncInterceptor;
+import com.rein.todoex.metrics.QueryCountInspector;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer(QueryCountInspector queryCountInspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCountInspector);
+    }
+
+    @Bean
+    public WebMvcConfigurer queryCountAsyncSupport(QueryCountAsyncInterceptor queryCountAsyncInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(queryCountAsyncInterceptor);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder taskRowCount(TaskStatistics taskStatistics) {
+        // read from the in-memory counts, a scrape does not run COUNT(*)
+        return registry -> Gauge.builder("todoex.tasks", taskStatistics, statistics -> statistics.current().total())
+                .description("Tasks in the task table")
+                .register(registry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.rein.todoex.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to a replica when {@code todoex.datasource.replica.jdbc-url} is set. The primary
+ * pool is configured by {@code spring.datasource.*} as usual, the replica pool by {@code todoex.datasource.replica.*}
+ * (any Hikari setting). Connections are only fetched on the first statement, by which time a
+ * {@code @Transactional(readOnly = true)} has marked them read-only, so they come from the replica pool; everything
+ * else, including Flyway and schema updates, uses the primary.
+ * <p>
+ * AOT processing evaluates the condition at build time: a {@code -Pfast-start} jar only has the replica pool if the
+ * property was set during {@code process-aot}, and then needs the real settings at runtime.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todoex.datasource.replica", name = "jdbc-url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("todoex.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,61 @@
+package com.rein.todoex.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todoex.task")
+public class TaskProperties {
+
+    // number of rows flushed per JDBC batch when creating tasks in bulk
+    private int batchSize = 500;
+
+    // records written per transaction by POST /tasks/import
+    private int importChunkSize = 1000;
+
+    // rejected lines listed in an import report, the rejected counter is never capped
+    private int importMaxReportedRejections = 100;
+
+    // Caffeine spec of the task cache in front of TaskServiceImpl.getTask
+    private String cacheSpec = "maximumSize=10000,expireAfterWrite=10m,recordStats";
+
+    // requests running more SQL statements than this are logged and counted as suspected N+1
+    private int queryCountThreshold = 10;
+
+    // answer GET /tasks?q= from the H2 full-text index instead of a LIKE scan
+    private boolean fullTextSearch = true;
+
+    // POST /tasks?async=true: tasks waiting to be written before requests get 429
+    private int asyncQueueCapacity = 10_000;
+
+    // most tasks written per write-behind transaction
+    private int asyncBatchSize = 500;
+
+    // how long the write-behind writer waits for a batch to fill up once it has a task
+    private Duration asyncLinger = Duration.ofMillis(20);
+
+    // how long shutdown waits for the write-behind queue to drain
+    private Duration asyncDrainTimeout = Duration.ofSeconds(30);
+
+    // GET /tasks/changes: latest changes kept for resuming, a subscriber further behind than this is disconnected
+    private int changeFeedBufferSize = 10_000;
+
+    // idle time after which a change feed subscriber is sent a comment, so dead connections are noticed
+    private Duration changeFeedHeartbeat = Duration.ofSeconds(15);
+
+    // how often GET /tasks/stats counts are checked against the database and corrected
+    private Duration statsReconcileInterval = Duration.ofMinutes(5);
+
+    // Caffeine spec of the Idempotency-Key cache in front of the task_idempotency_key table
+    private String idempotencyCacheSpec = "maximumSize=100000,expireAfterWrite=1h,recordStats";
+
+    // how long an Idempotency-Key is remembered in the task_idempotency_key table, retries after that create again
+    private Duration idempotencyKeyRetention = Duration.ofHours(24);
+
+    // how often keys older than the retention are purged
+    private Duration idempotencyPurgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,36 @@
+package com.rein.todoex.metrics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the statements of a {@code Callable} or {@code StreamingResponseBody} against the request that returned it,
+ * on the MVC task executor thread that runs it.
+ */
+@Component
+public class QueryCountAsyncInterceptor implements CallableProcessingInterceptor {
+
+    private final QueryCountInspector queryCountInspector;
+
+    public QueryCountAsyncInterceptor(QueryCountInspector queryCountInspector) {
+        this.queryCountInspector = queryCountInspector;
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object count = request.getAttribute(QueryCountFilter.COUNT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (count instanceof AtomicInteger queries) {
+            queryCountInspector.resume(queries);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        queryCountInspector.stop();
+    }
+}
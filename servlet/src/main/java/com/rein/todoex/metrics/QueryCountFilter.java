@@ -0,0 +1,88 @@
+package com.rein.todoex.metrics;
+
+import com.rein.todoex.config.TaskProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the number of SQL statements per request as {@code todoex.http.queries} and flags requests above
+ * {@code todoex.task.query-count-threshold}, which usually means an N+1 pattern or an unbounded read.
+ * <p>
+ * An async request is recorded once its async dispatch is done. The statements of a {@code StreamingResponseBody},
+ * such as {@code GET /tasks/export}, run on the MVC task executor and are counted through
+ * {@link QueryCountAsyncInterceptor}. An SSE stream of {@code GET /tasks/changes} is recorded when it ends; its events
+ * come from the in-memory change buffer, so only the subscription itself can query.
+ */
+@Slf4j
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    static final String COUNT_ATTRIBUTE = QueryCountFilter.class.getName() + ".count";
+
+    private final QueryCountInspector queryCountInspector;
+    private final MeterRegistry meterRegistry;
+    private final TaskProperties taskProperties;
+
+    public QueryCountFilter(QueryCountInspector queryCountInspector, MeterRegistry meterRegistry, TaskProperties taskProperties) {
+        this.queryCountInspector = queryCountInspector;
+        this.meterRegistry = meterRegistry;
+        this.taskProperties = taskProperties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AtomicInteger count = (AtomicInteger) request.getAttribute(COUNT_ATTRIBUTE);
+        if (count == null) {
+            count = queryCountInspector.start();
+            request.setAttribute(COUNT_ATTRIBUTE, count);
+        } else {
+            queryCountInspector.resume(count);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queryCountInspector.stop();
+            if (!request.isAsyncStarted()) {
+                record(request, count.get());
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private void record(HttpServletRequest request, int queries) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("todoex.http.queries")
+                .description("SQL statements executed per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(queries);
+        if (queries > taskProperties.getQueryCountThreshold()) {
+            log.warn("{} {} executed {} SQL statements (threshold {})", request.getMethod(), uri, queries,
+                    taskProperties.getQueryCountThreshold());
+            Counter.builder("todoex.http.queries.exceeded")
+                    .description("Requests above the SQL statement threshold")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.rein.todoex.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()} and {@link #stop()}.
+ * A count can follow its request to another thread with {@link #resume(AtomicInteger)}.
+ */
+@Component
+public class QueryCountInspector implements StatementInspector {
+
+    private final ThreadLocal<AtomicInteger> counts = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = counts.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public AtomicInteger start() {
+        AtomicInteger count = new AtomicInteger();
+        counts.set(count);
+        return count;
+    }
+
+    public void resume(AtomicInteger count) {
+        counts.set(count);
+    }
+
+    public int stop() {
+        AtomicInteger count = counts.get();
+        counts.remove();
+        return count == null ? 0 : count.get();
+    }
+}
@@ -0,0 +1,16 @@
+-- Task table as mapped by com.rein.todoex.api.v1.task.domain.Task.
+-- Databases created earlier by ddl-auto=update are baselined at this version.
+CREATE TABLE IF NOT EXISTS task (
+    id           UUID         NOT NULL,
+    title        VARCHAR(255),
+    description  VARCHAR(255),
+    is_completed BOOLEAN,
+    version      BIGINT       DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_task PRIMARY KEY (id)
+);
+
+-- back the orders in TaskSort, see the index names on Task
+CREATE INDEX IF NOT EXISTS idx_task_title_id ON task (title, id);
+CREATE INDEX IF NOT EXISTS idx_task_title_id_desc ON task (title DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_task_completed_title_id ON task (is_completed, title, id);
+CREATE INDEX IF NOT EXISTS idx_task_completed_title_id_desc ON task (is_completed DESC, title DESC, id DESC);
@@ -0,0 +1,13 @@
+-- Idempotency-Key table as mapped by com.rein.todoex.api.v1.task.domain.TaskIdempotencyKey.
+-- IF NOT EXISTS because ddl-auto=update may have created it in a database baselined at version 1.
+CREATE TABLE IF NOT EXISTS task_idempotency_key (
+    task_id         UUID                     NOT NULL,
+    idempotency_key VARCHAR(255)             NOT NULL,
+    item            INTEGER                  NOT NULL,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_task_idempotency_key PRIMARY KEY (task_id),
+    CONSTRAINT uk_task_idempotency_key_item UNIQUE (idempotency_key, item)
+);
+
+-- the purge of expired keys
+CREATE INDEX IF NOT EXISTS idx_task_idempotency_key_created_at ON task_idempotency_key (created_at);
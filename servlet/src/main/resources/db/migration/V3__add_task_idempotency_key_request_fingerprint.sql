@@ -0,0 +1,3 @@
+-- the request a key was used for, see com.rein.todoex.api.v1.task.domain.TaskIdempotencyKey.
+-- Nullable: keys recorded before are replayed without comparing the request, until they expire
+ALTER TABLE task_idempotency_key ADD COLUMN IF NOT EXISTS request_fingerprint VARCHAR(64);
@@ -0,0 +1,783 @@
+package com.rein.todoex.api.v1.task.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskPatch;
+import com.rein.todoex.api.v1.task.service.TaskService;
+import com.rein.todoex.api.v1.task.service.TaskServiceImpl;
+import com.rein.todoex.api.v1.task.service.TaskWriteBehindService;
+import com.rein.todoex.config.CacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class TaskControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Autowired
+    private TaskWriteBehindService writeBehind;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void setup() {
+        taskService.deleteAll();
+    }
+
+    @Test
+    void testAddTask() throws Exception {
+        MvcResult result;
+
+        // POST /tasks
+        String taskJson = "{\"title\":\"Task 1\", \"description\":\"First Task\", \"isCompleted\":true}";
+        result = mockMvc.perform(post("/tasks")
+                        .contentType("application/json")
+                        .content(taskJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").exists())
+                .andExpect(jsonPath("$.title").value("Task 1"))
+                .andExpect(jsonPath("$.description").value("First Task"))
+                .andExpect(jsonPath("$.isCompleted").value(true))
+                .andReturn();
+        UUID idTask1 = getUuid(result.getResponse().getContentAsString());
+
+        String taskWithMinimumValues = "{\"title\":\"Task 2\"}";
+        result = mockMvc.perform(post("/tasks")
+                        .contentType("application/json")
+                        .content(taskWithMinimumValues))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").exists())
+                .andExpect(jsonPath("$.title").value("Task 2"))
+                .andExpect(jsonPath("$.description").value(""))
+                .andExpect(jsonPath("$.isCompleted").value(false))
+                .andReturn();
+        UUID idTask2 = getUuid(result.getResponse().getContentAsString());
+
+        String completedTask = "{\"title\":\"Task 3\", \"description\":\"Take A Swim\", \"isCompleted\":true}";
+        result = mockMvc.perform(post("/tasks")
+                        .contentType("application/json")
+                        .content(completedTask))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").exists())
+                .andExpect(jsonPath("$.title").value("Task 3"))
+                .andExpect(jsonPath("$.description").value("Take A Swim"))
+                .andExpect(jsonPath("$.isCompleted").value(true))
+                .andReturn();
+        UUID idTask3 = getUuid(result.getResponse().getContentAsString());
+
+        String taskWithInvalidTitle = "{\"title\":\"\"}";
+        mockMvc.perform(post("/tasks")
+                        .contentType("application/json")
+                        .content(taskWithInvalidTitle))
+                .andExpect(status().is4xxClientError());
+
+
+        // GET /tasks
+        mockMvc.perform(get("/tasks?size=2&page=0"))
+                .andExpect(status().isOk())
+                //.andExpect(jsonPath("$.id").value(idTask1))
+                .andExpect(jsonPath("$.numberOfElements").value(2))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.number").value(0))
+                .andExpect(jsonPath("$.content[0].title").value("Task 1"))
+                .andExpect(jsonPath("$.content[1].title").value("Task 2"));
+
+        mockMvc.perform(get("/tasks?size=2&page=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numberOfElements").value(1))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.number").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Task 3"));
+
+        mockMvc.perform(get("/tasks?column=isCompleted&direction=DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Task 3"))
+                .andExpect(jsonPath("$.content[1].title").value("Task 1"))
+                .andExpect(jsonPath("$.content[2].title").value("Task 2"));
+
+        mockMvc.perform(get("/tasks?column=description"))
+                .andExpect(status().isBadRequest());
+
+
+        // GET /tasks/{id}
+        mockMvc.perform(get("/tasks/" + idTask1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(idTask1.toString()))
+                .andExpect(jsonPath("$.title").value("Task 1"))
+                .andExpect(jsonPath("$.description").value("First Task"))
+                .andExpect(jsonPath("$.isCompleted").value(true));
+
+        mockMvc.perform(get("/tasks/" + idTask2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(idTask2.toString()))
+                .andExpect(jsonPath("$.title").value("Task 2"))
+                .andExpect(jsonPath("$.description").value(""))
+                .andExpect(jsonPath("$.isCompleted").value(false));
+
+        mockMvc.perform(get("/tasks/" + UUID.randomUUID()))
+                .andExpect(status().isBadRequest());
+
+
+        // PUT /tasks/{id}
+        String updateTask = "{\"title\":\"Task 1\", \"description\":\"First Task is incomplete\", \"isCompleted\":false}";
+        mockMvc.perform(put("/tasks/" + idTask1)
+                    .contentType("application/json")
+                    .content(updateTask))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(idTask1.toString()))
+                .andExpect(jsonPath("$.title").value("Task 1"))
+                .andExpect(jsonPath("$.description").value("First Task is incomplete"))
+                .andExpect(jsonPath("$.isCompleted").value(false));
+
+        mockMvc.perform(put("/tasks/" + UUID.randomUUID())
+                        .contentType("application/json")
+                        .content(updateTask))
+                .andExpect(status().isBadRequest());
+
+
+        // PATCH /tasks/{id}
+        mockMvc.perform(patch("/tasks/" + idTask2)
+                        .contentType("application/json")
+                        .content("{\"isCompleted\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(idTask2.toString()))
+                .andExpect(jsonPath("$.title").value("Task 2"))
+                .andExpect(jsonPath("$.description").value(""))
+                .andExpect(jsonPath("$.isCompleted").value(true));
+
+        mockMvc.perform(patch("/tasks/" + idTask2)
+                        .contentType("application/json")
+                        .content("{\"title\":\"\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/tasks/" + UUID.randomUUID())
+                        .contentType("application/json")
+                        .content("{\"isCompleted\":true}"))
+                .andExpect(status().isBadRequest());
+
+
+        // DELETE /tasks/{id}
+        mockMvc.perform(delete("/tasks/" + idTask1))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/tasks/" + idTask2))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/tasks/" + idTask3))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/tasks/" + UUID.randomUUID()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testAddTaskAsync() throws Exception {
+        MvcResult result = mockMvc.perform(post("/tasks?async=true")
+                        .contentType("application/json")
+                        .content("{\"title\":\"Task 1\", \"description\":\"Written behind\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.id").exists())
+                .andReturn();
+        UUID id = getUuid(result.getResponse().getContentAsString());
+
+        // written by the background writer after at most the linger time
+        assertThat(writeBehind.awaitWritten(Duration.ofSeconds(5)), is(true));
+        mockMvc.perform(get("/tasks/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Written behind"))
+                .andExpect(jsonPath("$.version").value(0));
+
+        mockMvc.perform(post("/tasks?async=true")
+                        .contentType("application/json")
+                        .content("{\"title\":\"\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testAddTasksBatch() throws Exception {
+        String tasksJson = "[{\"title\":\"Task 1\"}, {\"title\":\"\"}, {\"title\":\"Task 3\", \"isCompleted\":true}]";
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType("application/json")
+                        .content(tasksJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$[1].message").value("Title should not be empty"))
+                .andExpect(jsonPath("$[2].status").value("CREATED"));
+
+        mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[1].title").value("Task 3"))
+                .andExpect(jsonPath("$.content[1].isCompleted").value(true));
+    }
+
+    @Test
+    void testGetTasksWithCursor() throws Exception {
+        String tasksJson = "[{\"title\":\"Task 1\"}, {\"title\":\"Task 2\"}, {\"title\":\"Task 3\"}]";
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType("application/json")
+                        .content(tasksJson))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/tasks?cursor=&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Task 1"))
+                .andExpect(jsonPath("$.content[1].title").value("Task 2"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").exists())
+                .andReturn();
+        String nextCursor = new ObjectMapper().readTree(result.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/tasks?size=2&cursor=" + nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Task 3"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+
+        mockMvc.perform(get("/tasks?cursor=&size=2&direction=DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Task 3"))
+                .andExpect(jsonPath("$.content[1].title").value("Task 2"));
+
+        mockMvc.perform(get("/tasks?cursor=not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        // a NULL title would have no keyset position, PUT refuses it like the other writes
+        String lastId = new ObjectMapper().readTree(result.getResponse().getContentAsString()).get("content").get(1).get("id").asText();
+        mockMvc.perform(put("/tasks/" + lastId)
+                        .contentType("application/json")
+                        .content("{\"description\":\"No title\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFilterTasks() throws Exception {
+        String tasksJson = "[{\"title\":\"Clean kitchen\", \"description\":\"Scrub the floor\"}, "
+                + "{\"title\":\"Buy milk\", \"description\":\"Kitchen supplies\", \"isCompleted\":true}, "
+                + "{\"title\":\"Walk dog\", \"isCompleted\":true}]";
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType("application/json")
+                        .content(tasksJson))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/tasks?completed=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Buy milk"))
+                .andExpect(jsonPath("$.content[1].title").value("Walk dog"));
+
+        mockMvc.perform(get("/tasks?q=KITCHEN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Buy milk"))
+                .andExpect(jsonPath("$.content[1].title").value("Clean kitchen"));
+
+        mockMvc.perform(get("/tasks?q=kitchen&completed=false&direction=DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Clean kitchen"));
+
+        mockMvc.perform(get("/tasks?q=scrub floor&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Clean kitchen"));
+
+        mockMvc.perform(get("/tasks?q=garage"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    void testSparseFieldsets() throws Exception {
+        mockMvc.perform(post("/tasks")
+                        .contentType("application/json")
+                        .content("{\"title\":\"Task 1\", \"description\":\"First Task\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pageable").doesNotExist())
+                .andExpect(jsonPath("$.sort").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").value(1))
+                .andExpect(jsonPath("$.content[0].id").exists())
+                .andExpect(jsonPath("$.content[0].description").value("First Task"))
+                .andExpect(jsonPath("$.content[0].isCompleted").value(false))
+                .andExpect(jsonPath("$.content[0].version").value(0));
+
+        mockMvc.perform(get("/tasks?fields=id,title,isCompleted"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").exists())
+                .andExpect(jsonPath("$.content[0].title").value("Task 1"))
+                .andExpect(jsonPath("$.content[0].isCompleted").value(false))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.content[0].version").doesNotExist());
+
+        mockMvc.perform(get("/tasks?q=first&fields=title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Task 1"))
+                .andExpect(jsonPath("$.content[0].id").doesNotExist());
+
+        // a requested field is written even when it is null
+        mockMvc.perform(post("/tasks")
+                        .contentType("application/json")
+                        .content("{\"title\":\"Errand\", \"description\":null}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tasks?q=errand&fields=title,description"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0]", hasKey("description")))
+                .andExpect(jsonPath("$.content[0].description").value(nullValue()))
+                .andExpect(jsonPath("$.content[0]", not(hasKey("id"))));
+
+        mockMvc.perform(get("/tasks?fields=title,owner"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testIdempotentAddTask() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String taskJson = "{\"title\":\"Task 1\"}";
+        MvcResult result = mockMvc.perform(post("/tasks")
+                        .header("Idempotency-Key", key)
+                        .contentType("application/json")
+                        .content(taskJson))
+                .andExpect(status().isOk())
+                .andReturn();
+        UUID id = getUuid(result.getResponse().getContentAsString());
+
+        // a retry, also once the cache has forgotten the key as after a restart, gets the same task without an INSERT
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long inserts = statistics.getEntityInsertCount();
+        for (boolean restarted : new boolean[]{false, true}) {
+            if (restarted) {
+                cacheManager.getCache(CacheConfig.IDEMPOTENCY_KEYS).clear();
+            }
+            mockMvc.perform(post("/tasks")
+                            .header("Idempotency-Key", key)
+                            .contentType("application/json")
+                            .content(taskJson))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(id.toString()))
+                    .andExpect(jsonPath("$.title").value("Task 1"));
+        }
+        assertThat(statistics.getEntityInsertCount(), is(inserts));
+
+        mockMvc.perform(post("/tasks")
+                        .header("Idempotency-Key", UUID.randomUUID().toString())
+                        .contentType("application/json")
+                        .content(taskJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(not(id.toString())));
+        mockMvc.perform(post("/tasks?async=true")
+                        .header("Idempotency-Key", key)
+                        .contentType("application/json")
+                        .content(taskJson))
+                .andExpect(status().isBadRequest());
+
+        // POST /tasks/batch replays the results of the first request, rejections included
+        String batchKey = UUID.randomUUID().toString();
+        String tasksJson = "[{\"title\":\"Task 2\"}, {\"title\":\"\"}, {\"title\":\"Task 3\"}]";
+        String first = mockMvc.perform(post("/tasks/batch")
+                        .header("Idempotency-Key", batchKey)
+                        .contentType("application/json")
+                        .content(tasksJson))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        inserts = statistics.getEntityInsertCount();
+        cacheManager.getCache(CacheConfig.IDEMPOTENCY_KEYS).clear();
+        mockMvc.perform(post("/tasks/batch")
+                        .header("Idempotency-Key", batchKey)
+                        .contentType("application/json")
+                        .content(tasksJson))
+                .andExpect(status().isOk())
+                .andExpect(content().json(first, true));
+        assertThat(statistics.getEntityInsertCount(), is(inserts));
+
+        mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(4));
+
+        // a retry for a task that has been deleted since is not answered with a task, nor creates one again
+        mockMvc.perform(delete("/tasks/" + id))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/tasks")
+                        .header("Idempotency-Key", key)
+                        .contentType("application/json")
+                        .content(taskJson))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void testIdempotencyKeyReusedForDifferentRequest() throws Exception {
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(post("/tasks")
+                        .header("Idempotency-Key", key)
+                        .contentType("application/json")
+                        .content("{\"title\":\"Task 1\"}"))
+                .andExpect(status().isOk());
+        String batchKey = UUID.randomUUID().toString();
+        mockMvc.perform(post("/tasks/batch")
+                        .header("Idempotency-Key", batchKey)
+                        .contentType("application/json")
+                        .content("[{\"title\":\"Task 2\"}]"))
+                .andExpect(status().isOk());
+
+        // another body, or the other endpoint, is refused whether the key is answered from the cache or the table
+        for (boolean restarted : new boolean[]{false, true}) {
+            if (restarted) {
+                cacheManager.getCache(CacheConfig.IDEMPOTENCY_KEYS).clear();
+            }
+            mockMvc.perform(post("/tasks")
+                            .header("Idempotency-Key", key)
+                            .contentType("application/json")
+                            .content("{\"title\":\"Task 1\", \"isCompleted\":true}"))
+                    .andExpect(status().isUnprocessableEntity());
+            mockMvc.perform(post("/tasks/batch")
+                            .header("Idempotency-Key", key)
+                            .contentType("application/json")
+                            .content("[{\"title\":\"Task 1\"}]"))
+                    .andExpect(status().isUnprocessableEntity());
+            mockMvc.perform(post("/tasks")
+                            .header("Idempotency-Key", batchKey)
+                            .contentType("application/json")
+                            .content("{\"title\":\"Task 2\"}"))
+                    .andExpect(status().isUnprocessableEntity());
+            // an extra item is not reported as rejected
+            mockMvc.perform(post("/tasks/batch")
+                            .header("Idempotency-Key", batchKey)
+                            .contentType("application/json")
+                            .content("[{\"title\":\"Task 2\"}, {\"title\":\"Task 3\"}]"))
+                    .andExpect(status().isUnprocessableEntity());
+        }
+
+        // the same body formatted differently is the same request
+        mockMvc.perform(post("/tasks")
+                        .header("Idempotency-Key", key)
+                        .contentType("application/json")
+                        .content("{ \"title\" : \"Task 1\" }"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void testConditionalRequests() throws Exception {
+        MvcResult result = mockMvc.perform(post("/tasks")
+                        .contentType("application/json")
+                        .content("{\"title\":\"Task 1\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(0))
+                .andReturn();
+        UUID id = getUuid(result.getResponse().getContentAsString());
+
+        // GET /tasks/{id} with If-None-Match
+        mockMvc.perform(get("/tasks/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""));
+        mockMvc.perform(get("/tasks/" + id).header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // PUT /tasks/{id} with If-Match
+        String updateTask = "{\"title\":\"Task 1\", \"isCompleted\":true}";
+        mockMvc.perform(put("/tasks/" + id)
+                        .header("If-Match", "\"0\"")
+                        .contentType("application/json")
+                        .content(updateTask))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+        mockMvc.perform(put("/tasks/" + id)
+                        .header("If-Match", "\"0\"")
+                        .contentType("application/json")
+                        .content(updateTask))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/tasks/" + id)
+                        .contentType("application/json")
+                        .content(updateTask))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""));
+
+        mockMvc.perform(get("/tasks/" + id).header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""));
+
+        // PATCH and DELETE /tasks/{id} with If-Match
+        mockMvc.perform(patch("/tasks/" + id)
+                        .header("If-Match", "\"1\"")
+                        .contentType("application/json")
+                        .content("{\"isCompleted\":false}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/tasks/" + id).header("If-Match", "\"1\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/tasks/" + id).header("If-Match", "\"2\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testListingETags() throws Exception {
+        mockMvc.perform(post("/tasks")
+                        .contentType("application/json")
+                        .content("{\"title\":\"Task 1\"}"))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/tasks?size=5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn();
+        String eTag = result.getResponse().getHeader("ETag");
+        assertThat(eTag.startsWith("W/\""), is(true));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+        mockMvc.perform(get("/tasks?size=5").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount(), is(statements));
+
+        mockMvc.perform(post("/tasks")
+                        .contentType("application/json")
+                        .content("{\"title\":\"Task 2\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/tasks?size=5").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(header().string("ETag", not(eTag)));
+    }
+
+    @Test
+    void testCompressedListing() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(Task.builder().title("Task " + i).description("Compressible description").build());
+        }
+        taskService.addTasks(tasks);
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks?size=50"));
+
+        HttpResponse<byte[]> gzipped = client.send(request.header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(gzipped.headers().firstValue("Content-Encoding").orElse(null), is("gzip"));
+
+        HttpResponse<byte[]> plain = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks?size=50")).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(plain.headers().firstValue("Content-Encoding").isPresent(), is(false));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            assertThat(in.readAllBytes(), is(plain.body()));
+        }
+        assertThat(gzipped.body().length < plain.body().length / 2, is(true));
+    }
+
+    @Test
+    void testTaskStats() throws Exception {
+        Task open = taskService.addTask(Task.builder().title("Open").build());
+        Task done = taskService.addTask(Task.builder().title("Done").isCompleted(true).build());
+        taskService.addTask(Task.builder().title("Other").build());
+
+        mockMvc.perform(patch("/tasks/" + open.getId())
+                        .contentType("application/json")
+                        .content("{\"isCompleted\":true}"))
+                .andExpect(status().isOk());
+        // the counts follow each write without reading or locking the row first: the UPDATE and the read back
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+        mockMvc.perform(put("/tasks/" + done.getId())
+                        .contentType("application/json")
+                        .content("{\"title\":\"Done again\", \"isCompleted\":true}"))
+                .andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount() - statements, is(2L));
+        mockMvc.perform(delete("/tasks/" + done.getId()))
+                .andExpect(status().isOk());
+
+        statements = statistics.getPrepareStatementCount();
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.completed").value(1))
+                .andExpect(jsonPath("$.open").value(1));
+        assertThat(statistics.getPrepareStatementCount(), is(statements));
+    }
+
+    @Test
+    void testChangeFeed() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        URI changes = URI.create("http://localhost:" + port + "/tasks/changes");
+        HttpResponse<Stream<String>> feed = client.send(HttpRequest.newBuilder(changes).build(),
+                HttpResponse.BodyHandlers.ofLines());
+        assertThat(feed.headers().firstValue("Content-Type").orElse(""), startsWith("text/event-stream"));
+        Iterator<String> lines = feed.body().iterator();
+
+        Task task = taskService.addTask(Task.builder().title("Watched").build());
+        Map<String, String> created = nextEvent(lines);
+        assertThat(created.get("event"), is("created"));
+        assertThat(new ObjectMapper().readTree(created.get("data")).get("id").asText(), is(task.getId().toString()));
+
+        taskService.patchTask(task.getId(), new TaskPatch(null, null, true), null);
+        Map<String, String> updated = nextEvent(lines);
+        assertThat(updated.get("event"), is("updated"));
+
+        // a bulk create is a single event, however many tasks it holds
+        taskService.addTasks(List.of(Task.builder().title("Bulk 1").build(), Task.builder().title("Bulk 2").build()));
+        assertThat(nextEvent(lines).get("event"), is("batch_created"));
+        taskService.deleteTask(task.getId(), null);
+        assertThat(nextEvent(lines).get("event"), is("deleted"));
+        feed.body().close();
+
+        // reconnecting after the created event replays what came after it
+        HttpResponse<Stream<String>> resumed = client.send(HttpRequest.newBuilder(changes)
+                .header("Last-Event-ID", created.get("id")).build(), HttpResponse.BodyHandlers.ofLines());
+        Map<String, String> replayed = nextEvent(resumed.body().iterator());
+        assertThat(replayed.get("id"), is(updated.get("id")));
+        assertThat(replayed.get("event"), is("updated"));
+        resumed.body().close();
+
+        // an id from before a restart cannot be resumed
+        HttpResponse<Stream<String>> stale = client.send(HttpRequest.newBuilder(URI.create(changes + "?since=0-1")).build(),
+                HttpResponse.BodyHandlers.ofLines());
+        assertThat(nextEvent(stale.body().iterator()).get("event"), is("reset"));
+        stale.body().close();
+    }
+
+    // fields of the next Server-Sent Event, comments skipped
+    private static Map<String, String> nextEvent(Iterator<String> lines) {
+        Map<String, String> event = new HashMap<>();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty() && !event.isEmpty()) {
+                return event;
+            }
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                event.put(line.substring(0, colon), line.substring(colon + 1));
+            }
+        }
+        return event;
+    }
+
+    @Test
+    void testExportTasks() throws Exception {
+        String tasksJson = "[{\"title\":\"Task 1\"}, {\"title\":\"Task 2\", \"isCompleted\":true}]";
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType("application/json")
+                        .content(tasksJson))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines.length, is(2));
+        ObjectMapper mapper = new ObjectMapper();
+        Set<String> titles = new HashSet<>();
+        for (String line : lines) {
+            titles.add(mapper.readValue(line, Task.class).getTitle());
+        }
+        assertThat(titles, is(Set.of("Task 1", "Task 2")));
+    }
+
+    @Test
+    void testImportTasks() throws Exception {
+        mockMvc.perform(post("/tasks/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"Task 1\"}\n{\"title\":\" \"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linesRead").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.rejectedLines[0].line").value(2))
+                .andExpect(jsonPath("$.rejectedLines[0].message").value("Title should not be empty"));
+
+        mockMvc.perform(post("/tasks/import")
+                        .contentType("text/csv")
+                        .content("title,isCompleted\nTask 2,true\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+
+        mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[1].title").value("Task 2"))
+                .andExpect(jsonPath("$.content[1].isCompleted").value(true));
+    }
+
+    private UUID getUuid(String taskJson) throws JsonProcessingException {
+        ObjectMapper mapper = new ObjectMapper();
+        Task task = mapper.readValue(taskJson, Task.class);
+        return task.getId();
+    }
+}
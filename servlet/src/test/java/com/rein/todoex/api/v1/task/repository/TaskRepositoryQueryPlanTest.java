@@ -0,0 +1,69 @@
+package com.rein.todoex.api.v1.task.repository;
+
+import com.rein.todoex.api.v1.task.domain.TaskSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class TaskRepositoryQueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> supportedSorts() {
+        return Arrays.stream(TaskSort.values())
+                .flatMap(sort -> Stream.of(Sort.Direction.values()).map(direction -> Arguments.of(sort, direction)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("supportedSorts")
+    void everySupportedSort_shouldBeServedByAnIndex(TaskSort sort, Sort.Direction direction) {
+        String orderBy = Stream.concat(sort.getProperties().stream(), Stream.of("id"))
+                .map(property -> toColumn(property) + " " + direction.name())
+                .collect(Collectors.joining(", "));
+
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT * FROM task ORDER BY " + orderBy + " OFFSET 10 ROWS FETCH NEXT 10 ROWS ONLY", String.class);
+
+        assertThat(plan, containsString("/* PUBLIC." + sort.getIndex(direction).toUpperCase() + " */"));
+        assertThat(plan, containsString("/* index sorted */"));
+    }
+
+    @Test
+    void completedFilter_shouldBeServedByTheCompletedIndex() {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT * FROM task WHERE is_completed = TRUE "
+                + "ORDER BY is_completed, title, id OFFSET 10 ROWS FETCH NEXT 10 ROWS ONLY", String.class);
+
+        assertThat(plan, containsString("/* PUBLIC." + TaskSort.COMPLETED_INDEX.toUpperCase() + ": IS_COMPLETED = TRUE */"));
+        assertThat(plan, containsString("/* index sorted */"));
+    }
+
+    @Test
+    void fullTextMatches_shouldBeJoinedByPrimaryKey() {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT t.* FROM FT_SEARCH_DATA('task', 0, 0) ft "
+                + "JOIN task t ON t.id = ft.KEYS[1]", String.class);
+
+        assertThat(plan, containsString("ID = FT.KEYS[1]"));
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    private static String toColumn(String property) {
+        return property.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
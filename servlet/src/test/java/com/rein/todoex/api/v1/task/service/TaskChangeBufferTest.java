@@ -0,0 +1,70 @@
+package com.rein.todoex.api.v1.task.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class TaskChangeBufferTest {
+
+    private final TaskChangeBuffer buffer = new TaskChangeBuffer(3);
+
+    @Test
+    void whenReaderIsBehind_shouldReturnChangesInOrder() throws InterruptedException {
+        UUID id = UUID.randomUUID();
+        buffer.append(TaskChangedEvent.Type.CREATED, id);
+        buffer.append(TaskChangedEvent.Type.UPDATED, id);
+        buffer.append(TaskChangedEvent.Type.DELETED, id);
+
+        List<TaskChange> changes = buffer.readAfter(0, 2, Duration.ZERO);
+
+        assertThat(changes, contains(new TaskChange(1, TaskChangedEvent.Type.CREATED, id),
+                new TaskChange(2, TaskChangedEvent.Type.UPDATED, id)));
+        assertThat(buffer.readAfter(2, 10, Duration.ZERO).get(0).type(), is(TaskChangedEvent.Type.DELETED));
+    }
+
+    @Test
+    void whenNothingNew_shouldReturnEmptyAfterTimeout() throws InterruptedException {
+        buffer.append(TaskChangedEvent.Type.CREATED, UUID.randomUUID());
+
+        assertThat(buffer.readAfter(1, 10, Duration.ofMillis(10)), is(empty()));
+    }
+
+    @Test
+    void whenChangesWereOverwritten_shouldNotResume() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            buffer.append(TaskChangedEvent.Type.CREATED, UUID.randomUUID());
+        }
+
+        assertThat(buffer.readAfter(1, 10, Duration.ZERO), is(nullValue()));
+        assertThat(buffer.canResume(1), is(false));
+        assertThat(buffer.canResume(2), is(true));
+        assertThat(buffer.canResume(6), is(false));
+        assertThat(buffer.readAfter(2, 10, Duration.ZERO).size(), is(3));
+    }
+
+    @Test
+    void whenWaiting_shouldWakeUpOnAppend() throws InterruptedException {
+        Thread writer = Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            buffer.append(TaskChangedEvent.Type.CREATED, null);
+        });
+
+        List<TaskChange> changes = buffer.readAfter(0, 10, Duration.ofSeconds(10));
+
+        assertThat(changes.size(), is(1));
+        assertThat(changes.get(0).id(), is(nullValue()));
+        writer.join();
+    }
+}
@@ -0,0 +1,98 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskIdempotencyKey;
+import com.rein.todoex.api.v1.task.repository.TaskIdempotencyKeyRepository;
+import com.rein.todoex.api.v1.task.repository.TaskRepository;
+import com.rein.todoex.config.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class TaskIdempotencyServiceTest {
+
+    @Autowired
+    private TaskIdempotencyService taskIdempotencyService;
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Autowired
+    private TaskIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setup() {
+        taskService.deleteAll();
+        idempotencyKeyRepository.deleteAll();
+        cacheManager.getCache(CacheConfig.IDEMPOTENCY_KEYS).clear();
+    }
+
+    @Test
+    void shouldCreateOnceForConcurrentRequestsWithTheSameKey() throws Exception {
+        String key = UUID.randomUUID().toString();
+        int requests = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Task>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(requests)) {
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return taskIdempotencyService.addTask(Task.builder().title("Once").build(), key);
+                }));
+            }
+            start.countDown();
+
+            Set<UUID> ids = new HashSet<>();
+            for (Future<Task> result : results) {
+                ids.add(result.get().getId());
+            }
+            assertThat(ids, hasSize(1));
+        }
+        assertThat(idempotencyKeyRepository.findByIdempotencyKey(key), hasSize(1));
+        assertThat(taskRepository.count(), is(1L));
+    }
+
+    @Test
+    void shouldPurgeKeysOlderThanTheRetention() {
+        Task recent = taskIdempotencyService.addTask(Task.builder().title("Recent").build(), "recent");
+        Task expired = taskService.addTask(Task.builder().title("Expired").build());
+        idempotencyKeyRepository.save(TaskIdempotencyKey.builder()
+                .taskId(expired.getId())
+                .idempotencyKey("expired")
+                .item(0)
+                .createdAt(Instant.now().minus(Duration.ofDays(2)))
+                .build());
+
+        taskIdempotencyService.purgeExpiredKeys();
+
+        assertThat(idempotencyKeyRepository.findByIdempotencyKey("expired"), hasSize(0));
+        assertThat(idempotencyKeyRepository.findByIdempotencyKey("recent").get(0).getTaskId(), is(recent.getId()));
+    }
+}
@@ -0,0 +1,142 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskBatchResult;
+import com.rein.todoex.api.v1.task.domain.TaskImportReport;
+import com.rein.todoex.config.TaskProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskImportServiceTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @Captor
+    private ArgumentCaptor<Collection<Task>> chunkCaptor;
+
+    private TaskProperties taskProperties;
+
+    private TaskImportService taskImportService;
+
+    @BeforeEach
+    void setup() {
+        taskProperties = new TaskProperties();
+        taskProperties.setImportChunkSize(2);
+        taskImportService = new TaskImportService(taskService, new ObjectMapper(), taskProperties);
+    }
+
+    @Test
+    void shouldImportNdjsonInChunks() throws Exception {
+        when(taskService.addTasks(any())).thenAnswer(invocation -> createdOrRejected(invocation.getArgument(0)));
+
+        TaskImportReport report = taskImportService.importTasks(input("""
+                {"title":"Task 1"}
+                {"title":"Task 2","isCompleted":true}
+
+                {"title":""}
+                not json
+                """), TaskImportService.Format.NDJSON);
+
+        verify(taskService, times(2)).addTasks(chunkCaptor.capture());
+        assertThat(chunkCaptor.getAllValues().get(0).size(), is(2));
+        assertThat(report.linesRead(), is(5L));
+        assertThat(report.imported(), is(2L));
+        assertThat(report.rejected(), is(2L));
+        assertThat(report.chunksCommitted(), is(2));
+        assertThat(report.rejectedLines().get(0), is(new TaskImportReport.RejectedLine(5, "Malformed record")));
+        assertThat(report.rejectedLines().get(1), is(new TaskImportReport.RejectedLine(4, "Title should not be empty")));
+    }
+
+    @Test
+    void shouldImportQuotedCsvFields() throws Exception {
+        when(taskService.addTasks(any())).thenAnswer(invocation -> createdOrRejected(invocation.getArgument(0)));
+
+        TaskImportReport report = taskImportService.importTasks(input("""
+                title,description,isCompleted
+                "Task, with comma","Say \"\"hi\"\"",true
+                Task 2,,
+                Task 3,Broken,maybe
+                """), TaskImportService.Format.CSV);
+
+        verify(taskService, times(1)).addTasks(chunkCaptor.capture());
+        List<Task> tasks = new ArrayList<>(chunkCaptor.getValue());
+        assertThat(tasks.get(0).getTitle(), is("Task, with comma"));
+        assertThat(tasks.get(0).getDescription(), is("Say \"hi\""));
+        assertThat(tasks.get(0).getIsCompleted(), is(true));
+        assertThat(tasks.get(1).getDescription(), is(""));
+        assertThat(tasks.get(1).getIsCompleted(), is(false));
+        assertThat(report.imported(), is(2L));
+        assertThat(report.rejectedLines().get(0), is(new TaskImportReport.RejectedLine(4, "Malformed record")));
+    }
+
+    @Test
+    void whenChunkFails_shouldKeepCommittedChunks() throws Exception {
+        when(taskService.addTasks(any()))
+                .thenAnswer(invocation -> createdOrRejected(invocation.getArgument(0)))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenAnswer(invocation -> createdOrRejected(invocation.getArgument(0)));
+
+        TaskImportReport report = taskImportService.importTasks(input("""
+                {"title":"Task 1"}
+                {"title":"Task 2"}
+                {"title":"Task 3"}
+                {"title":"Task 4"}
+                {"title":"Task 5"}
+                """), TaskImportService.Format.NDJSON);
+
+        assertThat(report.imported(), is(3L));
+        assertThat(report.rejected(), is(2L));
+        assertThat(report.chunksCommitted(), is(2));
+        assertThat(report.chunksFailed(), is(1));
+        assertThat(report.rejectedLines().get(0), is(new TaskImportReport.RejectedLine(3, "Chunk could not be written")));
+    }
+
+    @Test
+    void whenCsvHeaderHasNoTitle_shouldThrowException() {
+        Exception exception = assertThrows(ResponseStatusException.class,
+                () -> taskImportService.importTasks(input("name,description\n"), TaskImportService.Format.CSV));
+
+        assertThat(exception.getMessage(), is("400 BAD_REQUEST \"CSV header must contain a title column\""));
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<TaskBatchResult> createdOrRejected(Collection<Task> tasks) {
+        List<TaskBatchResult> results = new ArrayList<>();
+        int index = 0;
+        for (Task task : tasks) {
+            results.add(task.getTitle().isBlank()
+                    ? TaskBatchResult.rejected(index, "Title should not be empty")
+                    : TaskBatchResult.created(index, UUID.randomUUID()));
+            index++;
+        }
+        return results;
+    }
+}
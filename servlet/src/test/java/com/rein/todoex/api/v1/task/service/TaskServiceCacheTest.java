@@ -0,0 +1,76 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.config.CacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class TaskServiceCacheTest {
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setup() {
+        taskService.deleteAll();
+        cache = cacheManager.getCache(CacheConfig.TASKS);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        Task task = taskService.addTask(Task.builder().title("Cached").build());
+        cache.evict(task.getId());
+
+        Task first = taskService.getTask(task.getId());
+        Task second = taskService.getTask(task.getId());
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(cache.get(task.getId(), Task.class), is(sameInstance(first)));
+    }
+
+    @Test
+    void shouldRefreshCacheOnWrites() {
+        Task task = taskService.addTask(Task.builder().title("Cached").build());
+        assertThat(cache.get(task.getId(), Task.class), is(notNullValue()));
+
+        taskService.updateTask(task.getId(), Task.builder().title("Updated").isCompleted(true).build(), null);
+        Task cached = cache.get(task.getId(), Task.class);
+        assertThat(cached.getTitle(), is("Updated"));
+        assertThat(cached.getIsCompleted(), is(true));
+        assertThat(cached.getVersion(), is(1L));
+
+        taskService.deleteTask(task.getId(), null);
+        assertThat(cache.get(task.getId()), is(nullValue()));
+    }
+
+    @Test
+    void shouldExposeCacheStatistics() {
+        assertThat(meterRegistry.find("cache.gets").tag("cache", CacheConfig.TASKS).tag("result", "hit").meters(), is(not(empty())));
+        assertThat(meterRegistry.find("cache.gets").tag("cache", CacheConfig.TASKS).tag("result", "miss").meters(), is(not(empty())));
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", CacheConfig.TASKS).meters(), is(not(empty())));
+    }
+}
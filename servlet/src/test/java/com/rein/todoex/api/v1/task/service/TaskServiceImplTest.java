@@ -0,0 +1,386 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskBatchResult;
+import com.rein.todoex.api.v1.task.domain.TaskField;
+import com.rein.todoex.api.v1.task.domain.TaskFilter;
+import com.rein.todoex.api.v1.task.domain.TaskPatch;
+import com.rein.todoex.api.v1.task.domain.TaskSort;
+import com.rein.todoex.api.v1.task.domain.TaskView;
+import com.rein.todoex.api.v1.task.repository.TaskRepository;
+import com.rein.todoex.config.TaskProperties;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskServiceImplTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TaskProperties taskProperties = new TaskProperties();
+
+    @Captor
+    private ArgumentCaptor<Task> taskArgCaptor;
+
+    @InjectMocks
+    private TaskServiceImpl taskServiceImpl;
+
+    @Captor
+    private ArgumentCaptor<Pageable> pageableCaptor;
+
+    private Task task;
+    private TaskView view;
+
+    @BeforeEach
+    void setup() {
+        task = Task.builder()
+                .title("Do Chore")
+                .description("Life Process")
+                .isCompleted(true)
+                .build();
+        view = new TaskView(UUID.randomUUID(), task.getTitle(), task.getDescription(), task.getIsCompleted(), 0L);
+    }
+
+    @Test
+    void shouldAddNewTask() {
+        when(taskRepository.save(any())).thenReturn(task);
+
+        Task result = taskServiceImpl.addTask(task);
+
+        assertThat(result, is(notNullValue()));
+        assertThat(result.getTitle(), is(task.getTitle()));
+        assertThat(result.getDescription(), is(task.getDescription()));
+        assertThat(result.getId(), is(task.getId()));
+        assertThat(result.getIsCompleted(), is(task.getIsCompleted()));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"", " "})
+    void whenInvalidTitle_shouldThrowException(String param) {
+        Task taskToAdd = Task.builder()
+                .title(param)
+                .build();
+        Exception exception = assertThrows(ResponseStatusException.class, () -> taskServiceImpl.addTask(taskToAdd));
+
+        assertThat(exception.getMessage(), is("400 BAD_REQUEST \"Title should not be empty\""));
+    }
+
+    @Test
+    void whenDefaultValue_shouldAddNewTask() {
+        Task taskToAdd = Task.builder()
+                .title("Task1")
+                .build();
+        when(taskRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        taskServiceImpl.addTask(taskToAdd);
+        verify(taskRepository, times(1)).save(taskArgCaptor.capture());
+
+        Task result = taskArgCaptor.getValue();
+
+        assertThat(result, is(notNullValue()));
+        assertThat(result.getTitle(), is(taskToAdd.getTitle()));
+        assertThat(result.getDescription(), is(""));
+        assertThat(result.getIsCompleted(), is(false));
+    }
+
+    @Test
+    void whenAddingTasksInBatch_shouldRejectInvalidTitlesAndFlushPerChunk() {
+        taskProperties.setBatchSize(2);
+        when(taskRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Task> saved = new ArrayList<>();
+            for (Task t : invocation.<Collection<Task>>getArgument(0)) {
+                t.setId(UUID.randomUUID());
+                saved.add(t);
+            }
+            return saved;
+        });
+
+        List<Task> tasks = Arrays.asList(
+                Task.builder().title("Task1").build(),
+                Task.builder().title(" ").build(),
+                Task.builder().title("Task2").build(),
+                Task.builder().title("Task3").build());
+
+        List<TaskBatchResult> results = taskServiceImpl.addTasks(tasks);
+
+        assertThat(results.size(), is(4));
+        assertThat(results.get(0).status(), is(TaskBatchResult.Status.CREATED));
+        assertThat(results.get(0).id(), is(tasks.get(0).getId()));
+        assertThat(results.get(1).status(), is(TaskBatchResult.Status.REJECTED));
+        assertThat(results.get(1).message(), is("Title should not be empty"));
+        assertThat(results.get(2).id(), is(tasks.get(2).getId()));
+        assertThat(results.get(3).index(), is(3));
+        assertThat(results.get(3).id(), is(tasks.get(3).getId()));
+        verify(taskRepository, times(2)).saveAll(any());
+        verify(taskRepository, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(eventPublisher).publishEvent(TaskChangedEvent.batchCreated(3, 0));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void whenGetTaskById_shouldReturnTask() {
+        when(taskRepository.findById(any())).thenReturn(Optional.of(task));
+
+        Task result = taskServiceImpl.getTask(UUID.randomUUID());
+
+        assertThat(result, is(notNullValue()));
+        assertThat(result.getTitle(), is(task.getTitle()));
+        assertThat(result.getDescription(), is(task.getDescription()));
+        assertThat(result.getId(), is(task.getId()));
+        assertThat(result.getIsCompleted(), is(task.getIsCompleted()));
+    }
+
+    @Test
+    void whenTaskDoesNotExist_shouldThrowException() {
+        when(taskRepository.findById(any())).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(ResponseStatusException.class, () -> taskServiceImpl.getTask(UUID.fromString("29aa1a14-4733-40b4-a43f-95bc46786ba1")));
+
+        assertThat(exception.getMessage(), is("400 BAD_REQUEST \"Valid Task Id Required\""));
+    }
+
+    @Test
+    void shouldReturnAllTasks() {
+        Pageable pageable = PageRequest.of(0, 5);
+        Task task1 = Task.builder()
+                .id(UUID.randomUUID())
+                .title("Task1")
+                .build();
+        Task task2 = Task.builder()
+                .id(UUID.randomUUID())
+                .title("Task2")
+                .build();
+
+        Page<Task> taskPage = new PageImpl<>(Arrays.asList(task1, task2));
+        when(taskRepository.findAll(pageable)).thenReturn(taskPage);
+
+        Iterable<Task> result = taskServiceImpl.getAllTasks(pageable);
+
+        assertThat(((Page<Task>)result).getContent().size(), is(2));
+        assertThat(((Page<Task>)result).getTotalElements(), is(2L));
+        assertThat(((Page<Task>)result).getTotalPages(), is(1));
+        assertThat(((Page<Task>)result).getContent().get(0).getId(), is(task1.getId()));
+        assertThat(((Page<Task>)result).getContent().get(1).getId(), is(task2.getId()));
+
+    }
+
+    @Test
+    void whenFilteringByText_shouldSearchTheFullTextIndex() {
+        Pageable pageable = PageRequest.of(0, 5);
+        Page<TaskView> viewPage = new PageImpl<>(List.of(view));
+        when(taskRepository.searchFullText("chore", true, TaskField.ALL, pageable)).thenReturn(viewPage);
+
+        Page<TaskView> result = taskServiceImpl.getAllTasks(new TaskFilter(true, " chore "), TaskField.ALL, pageable);
+
+        assertThat(result.getContent(), is(List.of(view)));
+        verify(taskRepository, never()).findViews(any(), any(), any());
+    }
+
+    @Test
+    void whenFullTextSearchIsDisabled_shouldFilterWithSpecification() {
+        taskProperties.setFullTextSearch(false);
+        Pageable pageable = PageRequest.of(0, 5);
+        Set<TaskField> fields = Set.of(TaskField.ID, TaskField.TITLE);
+        when(taskRepository.findViews(any(), eq(fields), eq(pageable))).thenReturn(new PageImpl<>(List.of(view)));
+
+        Page<TaskView> result = taskServiceImpl.getAllTasks(new TaskFilter(null, "chore"), fields, pageable);
+
+        assertThat(result.getContent(), is(List.of(view)));
+        verify(taskRepository, never()).searchFullText(any(), any(), any(), any());
+    }
+
+    @Test
+    void whenFilteringByCompletion_shouldLeadTheSortWithIsCompleted() {
+        Pageable pageable = PageRequest.of(1, 5, TaskSort.TITLE.toSort(Sort.Direction.DESC));
+        when(taskRepository.findViews(any(), any(), any())).thenReturn(new PageImpl<>(List.of(view)));
+
+        taskServiceImpl.getAllTasks(new TaskFilter(false, null), TaskField.ALL, pageable);
+
+        verify(taskRepository).findViews(any(), eq(TaskField.ALL), pageableCaptor.capture());
+        assertThat(pageableCaptor.getValue().getPageNumber(), is(1));
+        assertThat(pageableCaptor.getValue().getSort(),
+                is(Sort.by(Sort.Direction.DESC, "isCompleted").and(TaskSort.TITLE.toSort(Sort.Direction.DESC))));
+    }
+
+    @Test
+    void shouldUpdateExistingTask() {
+        Task taskForUpdate = Task.builder()
+                .title("Task Updated")
+                .description("Description Updated")
+                .isCompleted(true)
+                .build();
+        UUID id = UUID.randomUUID();
+
+        when(taskRepository.updateTask(id, 3L, "Task Updated", "Description Updated", true, true)).thenReturn(0);
+        when(taskRepository.updateTask(id, 3L, "Task Updated", "Description Updated", true, false)).thenReturn(1);
+
+        Task result = taskServiceImpl.updateTask(id, taskForUpdate, 3L);
+
+        assertThat(result, is(notNullValue()));
+        assertThat(result.getTitle(), is(taskForUpdate.getTitle()));
+        assertThat(result.getDescription(), is(taskForUpdate.getDescription()));
+        assertThat(result.getIsCompleted(), is(taskForUpdate.getIsCompleted()));
+        assertThat(result.getId(), is(id));
+        assertThat(result.getVersion(), is(4L));
+        verify(taskRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.updated(id, false, true));
+    }
+
+    @Test
+    void whenUpdatingWithoutExpectedVersion_shouldReadBackNewVersion() {
+        UUID id = UUID.randomUUID();
+        when(taskRepository.updateTask(id, null, task.getTitle(), task.getDescription(), true, true)).thenReturn(1);
+        when(taskRepository.findById(id)).thenReturn(Optional.of(task));
+
+        Task result = taskServiceImpl.updateTask(id, task, null);
+
+        assertThat(result, is(task));
+        verify(taskRepository, times(1)).updateTask(any(), any(), any(), any(), any(), any());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.updated(id, true, true));
+    }
+
+    @Test
+    void whenUpdatingStaleVersion_shouldThrowPreconditionFailed() {
+        UUID id = UUID.randomUUID();
+        when(taskRepository.updateTask(any(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(taskRepository.existsById(id)).thenReturn(true);
+
+        Exception exception = assertThrows(ResponseStatusException.class, () -> taskServiceImpl.updateTask(id, task, 1L));
+
+        assertThat(exception.getMessage(), is("412 PRECONDITION_FAILED \"Task has been modified\""));
+    }
+
+    @Test
+    void whenUpdatingNonExistentId_shouldThrowException() {
+        Task taskForUpdate = Task.builder()
+                .title("Task Updated")
+                .description("Description Updated")
+                .isCompleted(true)
+                .build();
+        when(taskRepository.updateTask(any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        Exception exception = assertThrows(ResponseStatusException.class, () -> taskServiceImpl.updateTask(task.getId(), taskForUpdate, null));
+
+        assertThat(exception.getMessage(), is("400 BAD_REQUEST \"Valid Task Id Required\""));
+    }
+
+    @Test
+    void whenUpdatingWithoutTitle_shouldThrowException() {
+        Task taskForUpdate = Task.builder().description("No title").build();
+
+        Exception exception = assertThrows(ResponseStatusException.class, () -> taskServiceImpl.updateTask(UUID.randomUUID(), taskForUpdate, null));
+
+        assertThat(exception.getMessage(), is("400 BAD_REQUEST \"Title should not be empty\""));
+        verify(taskRepository, never()).updateTask(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldPatchOnlyGivenFields() {
+        UUID id = UUID.randomUUID();
+        when(taskRepository.patchTask(id, null, null, null, true, false)).thenReturn(1);
+        when(taskRepository.findById(id)).thenReturn(Optional.of(task));
+
+        Task result = taskServiceImpl.patchTask(id, new TaskPatch(null, null, true), null);
+
+        assertThat(result, is(task));
+        verify(taskRepository, times(1)).patchTask(id, null, null, null, true, false);
+        verify(eventPublisher).publishEvent(TaskChangedEvent.updated(id, false, true));
+    }
+
+    @Test
+    void whenPatchLeavesCompletionAlone_shouldWriteOnce() {
+        UUID id = UUID.randomUUID();
+        when(taskRepository.patchTask(id, null, "Renamed", null, null, null)).thenReturn(1);
+        when(taskRepository.findById(id)).thenReturn(Optional.of(task));
+
+        taskServiceImpl.patchTask(id, new TaskPatch("Renamed", null, null), null);
+
+        verify(taskRepository, times(1)).patchTask(any(), any(), any(), any(), any(), any());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.updated(id, null, null));
+    }
+
+    @Test
+    void whenPatchingWithBlankTitle_shouldThrowException() {
+        Exception exception = assertThrows(ResponseStatusException.class, () -> taskServiceImpl.patchTask(UUID.randomUUID(), new TaskPatch(" ", null, null), null));
+
+        assertThat(exception.getMessage(), is("400 BAD_REQUEST \"Title should not be empty\""));
+        verify(taskRepository, never()).patchTask(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void whenPatchingNonExistentId_shouldThrowException() {
+        when(taskRepository.patchTask(any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        Exception exception = assertThrows(ResponseStatusException.class, () -> taskServiceImpl.patchTask(UUID.randomUUID(), new TaskPatch(null, null, true), null));
+
+        assertThat(exception.getMessage(), is("400 BAD_REQUEST \"Valid Task Id Required\""));
+    }
+
+    @Test
+    void shouldDeleteExistingTask() {
+        when(taskRepository.deleteTask(task.getId(), null, false)).thenReturn(0);
+        when(taskRepository.deleteTask(task.getId(), null, true)).thenReturn(1);
+
+        taskServiceImpl.deleteTask(task.getId(), null);
+
+        verify(taskRepository, times(2)).deleteTask(any(), any(), any());
+        verify(taskRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(task.getId(), true));
+    }
+
+    @Test
+    void whenDeletingNonExistentTask_shouldThrowException() {
+        when(taskRepository.deleteTask(any(), any(), any())).thenReturn(0);
+
+        Exception exception = assertThrows(ResponseStatusException.class, () -> taskServiceImpl.deleteTask(UUID.fromString("29aa1a14-4733-40b4-a43f-95bc46786ba1"), null));
+
+        assertThat(exception.getMessage(), is("400 BAD_REQUEST \"Valid Task Id Required\""));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
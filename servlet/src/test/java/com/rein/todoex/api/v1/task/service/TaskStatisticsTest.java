@@ -0,0 +1,99 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.rein.todoex.api.v1.task.domain.TaskStats;
+import com.rein.todoex.api.v1.task.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskStatisticsTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskStatistics taskStatistics;
+
+    @BeforeEach
+    void setup() {
+        when(taskRepository.countStats()).thenReturn(new TaskStats(10, 4));
+        taskStatistics = new TaskStatistics(taskRepository);
+    }
+
+    @Test
+    void shouldStartFromDatabaseCounts() {
+        assertThat(taskStatistics.current(), is(new TaskStats(10, 4, 6)));
+    }
+
+    @Test
+    void shouldFollowCommittedChanges() {
+        UUID id = UUID.randomUUID();
+        commit(TaskChangedEvent.created(id, false));
+        commit(TaskChangedEvent.created(UUID.randomUUID(), true));
+        assertThat(taskStatistics.current(), is(new TaskStats(12, 5)));
+
+        commit(TaskChangedEvent.batchCreated(3, 1));
+        assertThat(taskStatistics.current(), is(new TaskStats(15, 6)));
+
+        commit(TaskChangedEvent.updated(id, false, true));
+        commit(TaskChangedEvent.updated(id, true, true));
+        assertThat(taskStatistics.current(), is(new TaskStats(15, 7)));
+
+        commit(TaskChangedEvent.deleted(id, true));
+        commit(TaskChangedEvent.deleted(UUID.randomUUID(), false));
+        assertThat(taskStatistics.current(), is(new TaskStats(13, 6)));
+
+        commit(TaskChangedEvent.deleted(null, null));
+        assertThat(taskStatistics.current(), is(new TaskStats(0, 0)));
+    }
+
+    @Test
+    void whenChangesAreInFlight_shouldNotReconcile() {
+        // published, not committed yet: the count may or may not include it
+        TaskChangedEvent pending = TaskChangedEvent.created(UUID.randomUUID(), false);
+        taskStatistics.onTaskPublished(pending);
+        when(taskRepository.countStats()).thenReturn(new TaskStats(11, 4));
+        taskStatistics.reconcile();
+        assertThat(taskStatistics.current(), is(new TaskStats(10, 4)));
+
+        // committed and applied while counting
+        taskStatistics.onTaskChanged(pending);
+        when(taskRepository.countStats()).thenAnswer(invocation -> {
+            commit(TaskChangedEvent.created(UUID.randomUUID(), true));
+            return new TaskStats(13, 6);
+        });
+        taskStatistics.reconcile();
+        assertThat(taskStatistics.current(), is(new TaskStats(12, 5)));
+
+        // a rolled back change is no longer in flight
+        TaskChangedEvent rolledBack = TaskChangedEvent.deleted(UUID.randomUUID(), false);
+        taskStatistics.onTaskPublished(rolledBack);
+        taskStatistics.onTaskRolledBack(rolledBack);
+        when(taskRepository.countStats()).thenReturn(new TaskStats(20, 7));
+        taskStatistics.reconcile();
+        assertThat(taskStatistics.current(), is(new TaskStats(20, 7)));
+    }
+
+    @Test
+    void whenCountsDrifted_shouldReconcileWithDatabase() {
+        commit(TaskChangedEvent.created(UUID.randomUUID(), true));
+        when(taskRepository.countStats()).thenReturn(new TaskStats(20, 7));
+
+        taskStatistics.reconcile();
+
+        assertThat(taskStatistics.current(), is(new TaskStats(20, 7, 13)));
+    }
+
+    private void commit(TaskChangedEvent event) {
+        taskStatistics.onTaskPublished(event);
+        taskStatistics.onTaskChanged(event);
+    }
+}
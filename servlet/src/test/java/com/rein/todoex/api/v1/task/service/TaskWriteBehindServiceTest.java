@@ -0,0 +1,194 @@
+package com.rein.todoex.api.v1.task.service;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.config.TaskProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskWriteBehindServiceTest {
+
+    @Mock
+    private TaskServiceImpl taskService;
+
+    @Captor
+    private ArgumentCaptor<List<Task>> batchCaptor;
+
+    private TaskProperties taskProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskWriteBehindService writeBehind;
+
+    @BeforeEach
+    void setup() {
+        taskProperties = new TaskProperties();
+        taskProperties.setAsyncBatchSize(10);
+        taskProperties.setAsyncLinger(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void stop() {
+        if (writeBehind.isRunning()) {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    void shouldAssignIdsAndWriteQueuedTasksInOneBatch() {
+        start();
+
+        Task first = writeBehind.enqueue(Task.builder().title("Task 1").build());
+        Task second = writeBehind.enqueue(Task.builder().title("Task 2").build());
+        writeBehind.stop();
+
+        assertThat(first.getId(), is(notNullValue()));
+        assertThat(first.getId().version(), is(7));
+        verify(taskService).addAssignedTasks(batchCaptor.capture());
+        assertThat(batchCaptor.getValue().stream().map(Task::getId).toList(), contains(first.getId(), second.getId()));
+        // the writer gets copies, the returned tasks are never touched by its thread
+        assertThat(batchCaptor.getValue().get(0), is(not(sameInstance(first))));
+        assertThat(batchCaptor.getValue().get(0).getTitle(), is("Task 1"));
+        assertThat(meterRegistry.get("todoex.task.async.write.lag").timer().count(), is(2L));
+        assertThat(meterRegistry.get("todoex.task.async.queue.depth").gauge().value(), is(0.0));
+    }
+
+    @Test
+    void shouldAwaitTheTasksAcceptedSoFar() throws InterruptedException {
+        start();
+
+        Task task = writeBehind.enqueue(Task.builder().title("Task 1").build());
+
+        assertThat(writeBehind.awaitWritten(Duration.ofSeconds(5)), is(true));
+        verify(taskService).addAssignedTasks(batchCaptor.capture());
+        assertThat(batchCaptor.getValue().get(0).getId(), is(task.getId()));
+        assertThat(writeBehind.isRunning(), is(true));
+    }
+
+    @Test
+    void whenStoppedWhileEnqueueing_shouldWriteEveryAcceptedTask() throws Exception {
+        taskProperties.setAsyncLinger(Duration.ZERO);
+        Set<UUID> written = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            List<Task> batch = invocation.getArgument(0);
+            batch.forEach(task -> written.add(task.getId()));
+            return null;
+        }).when(taskService).addAssignedTasks(anyList());
+        start();
+
+        Set<UUID> accepted = ConcurrentHashMap.newKeySet();
+        CountDownLatch enqueueing = new CountDownLatch(4);
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4; i++) {
+                executor.submit(() -> {
+                    enqueueing.countDown();
+                    while (true) {
+                        try {
+                            accepted.add(writeBehind.enqueue(Task.builder().title("Task").build()).getId());
+                        } catch (ResponseStatusException e) {
+                            if (e.getStatusCode().value() == 503) {
+                                return;
+                            }
+                        }
+                    }
+                });
+            }
+            enqueueing.await();
+            writeBehind.stop();
+        }
+
+        assertThat(written, is(accepted));
+    }
+
+    @Test
+    void whenQueueIsFull_shouldRejectWithTooManyRequests() throws InterruptedException {
+        taskProperties.setAsyncQueueCapacity(1);
+        taskProperties.setAsyncLinger(Duration.ZERO);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(taskService).addAssignedTasks(anyList());
+        start();
+
+        writeBehind.enqueue(Task.builder().title("Task 1").build());
+        assertThat(writing.await(5, TimeUnit.SECONDS), is(true));
+        writeBehind.enqueue(Task.builder().title("Task 2").build());
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> writeBehind.enqueue(Task.builder().title("Task 3").build()));
+
+        assertThat(exception.getStatusCode().value(), is(429));
+        assertThat(meterRegistry.get("todoex.task.async.rejected").counter().count(), is(1.0));
+        release.countDown();
+        writeBehind.stop();
+        verify(taskService, atLeastOnce()).addAssignedTasks(anyList());
+    }
+
+    @Test
+    void whenBatchFails_shouldRetryEachTaskAndCountFailures() {
+        start();
+        doAnswer(invocation -> {
+            List<Task> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(task -> task.getTitle().equals("Bad"))) {
+                throw new IllegalStateException(batch.size() > 1 ? "batch" : "single");
+            }
+            return null;
+        }).when(taskService).addAssignedTasks(anyList());
+
+        writeBehind.enqueue(Task.builder().title("Good").build());
+        writeBehind.enqueue(Task.builder().title("Bad").build());
+        writeBehind.stop();
+
+        assertThat(meterRegistry.get("todoex.task.async.failed").counter().count(), is(1.0));
+        assertThat(meterRegistry.get("todoex.task.async.write.lag").timer().count(), is(1L));
+    }
+
+    @Test
+    void shouldValidateAndRefuseOnceStopped() {
+        start();
+        ResponseStatusException blank = assertThrows(ResponseStatusException.class,
+                () -> writeBehind.enqueue(Task.builder().title(" ").build()));
+        assertThat(blank.getStatusCode().value(), is(400));
+
+        writeBehind.stop();
+        ResponseStatusException stopped = assertThrows(ResponseStatusException.class,
+                () -> writeBehind.enqueue(Task.builder().title("Task 1").build()));
+        assertThat(stopped.getStatusCode().value(), is(503));
+    }
+
+    private void start() {
+        writeBehind = new TaskWriteBehindService(taskService, taskProperties, meterRegistry);
+        writeBehind.start();
+    }
+}
@@ -0,0 +1,63 @@
+package com.rein.todoex.config;
+
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.service.TaskServiceImpl;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+
+@ActiveProfiles({"test", "high-throughput"})
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:high-throughput;DB_CLOSE_DELAY=-1")
+public class HighThroughputProfileTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Test
+    void shouldMigrateSchemaAndTuneConnections() {
+        // the schema comes from the migrations and passed ddl-auto=validate
+        assertThat(flyway.info().current().getVersion().getVersion(), is("3"));
+        Task saved = taskService.addTask(Task.builder().title("Migrated").build());
+        assertThat(taskService.getTask(saved.getId()).getVersion(), is(0L));
+
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+        assertThat(hikari.getMaximumPoolSize(), is(20));
+        assertThat(hikari.getMinimumIdle(), is(20));
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        assertThat(setting(jdbc, "CACHE_SIZE"), hasItem("131072"));
+        assertThat(setting(jdbc, "WRITE_DELAY"), hasItem("1000"));
+        assertThat(setting(jdbc, "QUERY_CACHE_SIZE"), hasItem("64"));
+        assertThat(jdbc.queryForObject("CALL LOCK_TIMEOUT()", Integer.class), is(5000));
+
+        assertThat(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class).values(), is(empty()));
+    }
+
+    private static List<String> setting(JdbcTemplate jdbc, String name) {
+        return jdbc.queryForList("SELECT SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE SETTING_NAME = ?",
+                String.class, name);
+    }
+}
@@ -0,0 +1,83 @@
+package com.rein.todoex.config;
+
+import com.rein.todoex.api.v1.task.service.TaskServiceImpl;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        taskService.deleteAll();
+    }
+
+    @Test
+    void shouldExposeTaskMetricsInPrometheusFormat() throws Exception {
+        mockMvc.perform(post("/tasks")
+                        .contentType("application/json")
+                        .content("{\"title\":\"Task 1\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("todoex_task_service_seconds_bucket{class=\"com.rein.todoex.api.v1.task.service.TaskServiceImpl\",exception=\"none\",method=\"addTask\"")))
+                .andExpect(content().string(containsString("todoex_task_service_seconds_bucket{class=\"com.rein.todoex.api.v1.task.service.TaskServiceImpl\",exception=\"none\",method=\"getAllTasks\"")))
+                .andExpect(content().string(containsString("todoex_http_queries{method=\"GET\",uri=\"/tasks\",quantile=\"0.99\"}")))
+                .andExpect(content().string(containsString("todoex_tasks 1.0")))
+                .andExpect(content().string(containsString("hikaricp_connections_max")))
+                .andExpect(content().string(containsString("hibernate_flushes_total")));
+    }
+
+    @Test
+    void shouldCountTheStatementsOfAStreamedExport() throws Exception {
+        mockMvc.perform(post("/tasks")
+                        .contentType("application/json")
+                        .content("{\"title\":\"Task 1\"}"))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        DistributionSummary queries = meterRegistry.get("todoex.http.queries").tag("uri", "/tasks/export").summary();
+        assertThat(queries.count(), is(1L));
+        assertThat(queries.totalAmount(), is(greaterThanOrEqualTo(1.0)));
+    }
+}
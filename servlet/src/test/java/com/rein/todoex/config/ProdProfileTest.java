@@ -0,0 +1,34 @@
+package com.rein.todoex.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+@ActiveProfiles({"test", "prod"})
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:prod;DB_CLOSE_DELAY=-1")
+public class ProdProfileTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldServeTasksWithoutApiDocs() {
+        assertThat(restTemplate.getForEntity("/v3/api-docs", String.class).getStatusCode(), is(HttpStatus.NOT_FOUND));
+        assertThat(restTemplate.getForEntity("/tasks?q=anything", String.class).getStatusCode(), is(HttpStatus.OK));
+        // built at startup although nothing depends on it and beans are lazy
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TRIGGERS "
+                + "WHERE TRIGGER_NAME = 'FT_TASK'", Integer.class), greaterThan(0));
+    }
+}
@@ -0,0 +1,127 @@
+package com.rein.todoex.config;
+
+import com.rein.todoex.api.v1.task.controller.TaskETags;
+import com.rein.todoex.api.v1.task.domain.Task;
+import com.rein.todoex.api.v1.task.domain.TaskField;
+import com.rein.todoex.api.v1.task.domain.TaskFilter;
+import com.rein.todoex.api.v1.task.domain.TaskView;
+import com.rein.todoex.api.v1.task.service.TaskChangeMarker;
+import com.rein.todoex.api.v1.task.service.TaskIdempotencyService;
+import com.rein.todoex.api.v1.task.service.TaskServiceImpl;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// two separate in-memory databases stand in for a primary and its replica, nothing replicates between them
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "todoex.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "todoex.datasource.replica.username=sa",
+        "todoex.datasource.replica.maximum-pool-size=4"
+})
+public class ReplicaDataSourceConfigTest {
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Autowired
+    private TaskIdempotencyService taskIdempotencyService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TaskChangeMarker changeMarker;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private HikariDataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_task.sql"),
+                new ClassPathResource("db/migration/V2__create_task_idempotency_key.sql"),
+                new ClassPathResource("db/migration/V3__add_task_idempotency_key_request_fingerprint.sql"))
+                .execute(replicaDataSource);
+        taskService.deleteAll();
+        replica.update("DELETE FROM task");
+        primary.update("DELETE FROM task_idempotency_key");
+        cacheManager.getCache(CacheConfig.IDEMPOTENCY_KEYS).clear();
+    }
+
+    @Test
+    void shouldWriteToPrimaryAndReadFromReplica() {
+        Task saved = taskService.addTask(Task.builder().title("Written").build());
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM task WHERE id = ?", Integer.class, saved.getId()), is(1));
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM task", Integer.class), is(0));
+
+        UUID replicated = UUID.randomUUID();
+        replica.update("INSERT INTO task (id, title, description, is_completed, version) VALUES (?, 'Replicated', '', FALSE, 0)",
+                replicated);
+        assertThat(taskService.getAllTasks(new TaskFilter(null, null), TaskField.ALL, PageRequest.of(0, 10))
+                .map(TaskView::id).getContent(), contains(replicated));
+        assertThat(taskService.getTask(replicated).getTitle(), is("Replicated"));
+    }
+
+    @Test
+    void shouldNotTagListingsReadFromTheReplica() throws Exception {
+        taskService.addTask(Task.builder().title("Written").build());
+
+        // the replica has not seen the write yet, this page must not be cached under the marker that counts it
+        mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0))
+                .andExpect(header().doesNotExist("ETag"));
+
+        replica.update("INSERT INTO task (id, title, description, is_completed, version) VALUES (?, 'Written', '', FALSE, 0)",
+                UUID.randomUUID());
+        mockMvc.perform(get("/tasks").header("If-None-Match", TaskETags.ofListing(changeMarker.current())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    void shouldReplayAnIdempotencyKeyThatHasNotReachedTheReplica() {
+        Task first = taskIdempotencyService.addTask(Task.builder().title("Once").build(), "key");
+        cacheManager.getCache(CacheConfig.IDEMPOTENCY_KEYS).clear();
+
+        // the replica knows neither the key nor the task, the INSERT then fails on the primary and both are read there
+        Task retried = taskIdempotencyService.addTask(Task.builder().title("Once").build(), "key");
+        assertThat(retried.getId(), is(first.getId()));
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM task", Integer.class), is(1));
+    }
+}
@@ -1,37 +0,0 @@
-package com.rein.todoex.api.v1.task.domain;
-
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.Id;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-import org.hibernate.annotations.UuidGenerator;
-
-import java.util.UUID;
-
-@Entity
-@Getter
-@Setter
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class Task {
-
-    @Id
-    @GeneratedValue(generator = "UUID")
-    @UuidGenerator
-    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "uuid")
-    private UUID id;
-
-    private String title ;
-
-    @Builder.Default
-    private String description = "";
-
-    @Builder.Default
-    private Boolean isCompleted = false;
-}
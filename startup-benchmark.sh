@@ -0,0 +1,60 @@
+#!/bin/bash
+# Time to first request: milliseconds from launching the JVM until GET /tasks answers 200.
+# Compares the plain jar with the default profile against the fast-start build (AOT, CDS archive, lazy prod
+# profile) started the way the Dockerfile starts it. Both run against an empty in-memory database.
+#
+# usage: ./startup-benchmark.sh [runs]
+
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+mvn -B -q clean package -DskipTests -pl servlet -am
+cp servlet/target/todoex-*.jar "$WORK/baseline.jar"
+
+mvn -B -q clean package -DskipTests -Pfast-start -pl servlet -am
+cp servlet/target/todoex-*.jar "$WORK/application.jar"
+"$JAVA" -Djarmode=tools -jar "$WORK/application.jar" extract --layers --destination "$WORK/extracted"
+mkdir "$WORK/fast-start"
+for layer in dependencies spring-boot-loader snapshot-dependencies application; do
+    cp -r "$WORK/extracted/$layer/." "$WORK/fast-start/"
+done
+(cd "$WORK/fast-start" && "$JAVA" -XX:ArchiveClassesAtExit=application.jsa -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh -jar application.jar --spring.profiles.active=prod \
+    --spring.main.lazy-initialization=false --spring.datasource.url=jdbc:h2:mem:cds > "$WORK/training.log" 2>&1)
+
+# measure <name> <directory> <java arguments...>
+measure() {
+    local name=$1 directory=$2
+    shift 2
+    local times=()
+    for ((run = 1; run <= RUNS; run++)); do
+        local start
+        start=$(date +%s%N)
+        (cd "$directory" && exec "$JAVA" "$@" --server.port="$PORT" \
+            --spring.datasource.url=jdbc:h2:mem:startup > "$WORK/$name.log" 2>&1) &
+        local pid=$!
+        until curl -sf -o /dev/null "http://localhost:$PORT/tasks?size=1"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$name did not start:" >&2
+                tail -20 "$WORK/$name.log" >&2
+                exit 1
+            fi
+            sleep 0.01
+        done
+        times+=($((($(date +%s%N) - start) / 1000000)))
+        kill "$pid"
+        wait "$pid" || true
+    done
+    local sorted
+    sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+    printf '%-12s median %6d ms   runs: %s\n' "$name" "${sorted[$((RUNS / 2))]}" "${times[*]}"
+}
+
+measure baseline "$WORK" -jar baseline.jar
+measure fast-start "$WORK/fast-start" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+    -jar application.jar --spring.profiles.active=prod